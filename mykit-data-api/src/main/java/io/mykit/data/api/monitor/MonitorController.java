@@ -49,6 +49,7 @@ public class MonitorController extends BaseController {
     public String index(HttpServletRequest request, ModelMap model) {
         Map<String, String> params = getParams(request);
         model.put("threadInfo", monitorService.getThreadInfo());
+        model.put("dataSourceInfo", monitorService.getDataSourceInfo());
         model.put("metaId", monitorService.getDefaultMetaId(params));
         model.put("meta", monitorService.getMetaAll());
         model.put("data", monitorService.queryData(params));
@@ -68,6 +69,28 @@ public class MonitorController extends BaseController {
         }
     }
 
+    @GetMapping("/queryDataSource")
+    @ResponseBody
+    public RestResult queryDataSource() {
+        try {
+            return RestResult.restSuccess(monitorService.getDataSourceInfo());
+        } catch (Exception e) {
+            logger.error(e.getLocalizedMessage(), e.getClass());
+            return RestResult.restFail(e.getMessage());
+        }
+    }
+
+    @GetMapping("/queryIncrement")
+    @ResponseBody
+    public RestResult queryIncrement() {
+        try {
+            return RestResult.restSuccess(monitorService.getIncrementInfo());
+        } catch (Exception e) {
+            logger.error(e.getLocalizedMessage(), e.getClass());
+            return RestResult.restFail(e.getMessage());
+        }
+    }
+
     @GetMapping("/queryLog")
     @ResponseBody
     public RestResult queryLog(HttpServletRequest request) {
@@ -4,6 +4,7 @@ package io.mykit.data.business.checker.impl.connector;
 import io.mykit.data.business.checker.ConnectorConfigChecker;
 import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.parser.model.Connector;
+import org.apache.commons.lang.math.NumberUtils;
 import org.springframework.util.Assert;
 
 import java.util.Map;
@@ -26,6 +27,12 @@ public abstract class DataBaseConfigChecker implements ConnectorConfigChecker {
         config.setPassword(password);
         config.setUrl(url);
         config.setDriverClassName(driverClassName);
+
+        // 连接池配置
+        config.setMaxActive(NumberUtils.toInt(params.get("maxActive"), config.getMaxActive()));
+        config.setMaxIdle(NumberUtils.toInt(params.get("maxIdle"), config.getMaxIdle()));
+        config.setMaxWait(NumberUtils.toLong(params.get("maxWait"), config.getMaxWait()));
+        config.setBulkLoad(Boolean.parseBoolean(params.get("bulkLoad")));
     }
 
     protected void modifyDql(Connector connector, Map<String, String> params) {
@@ -10,6 +10,7 @@ import io.mykit.data.monitor.config.ListenerConfig;
 import io.mykit.data.monitor.enums.ListenerTypeEnum;
 import io.mykit.data.parser.model.Connector;
 import io.mykit.data.parser.model.Mapping;
+import org.apache.commons.lang.math.NumberUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -48,6 +49,22 @@ public class LogConfigChecker implements MappingConfigChecker, ApplicationContex
         ListenerConfig listener = mapping.getListener();
         Assert.notNull(listener, "ListenerConfig can not be null.");
 
+        String maxTransactionSize = params.get("incrementStrategyLogMaxTransactionSize");
+        listener.setMaxTransactionSize(Math.max(1, NumberUtils.toInt(maxTransactionSize, listener.getMaxTransactionSize())));
+        String applyThreadNum = params.get("incrementStrategyLogApplyThreadNum");
+        listener.setApplyThreadNum(Math.max(1, NumberUtils.toInt(applyThreadNum, listener.getApplyThreadNum())));
+        String bufferSize = params.get("incrementStrategyLogBufferSize");
+        int size = Math.max(1, NumberUtils.toInt(bufferSize, listener.getBufferSize()));
+        // 向上取2的幂
+        listener.setBufferSize(Integer.bitCount(size) == 1 ? size : Integer.highestOneBit(size) << 1);
+        String waitStrategy = params.get("incrementStrategyLogWaitStrategy");
+        if (StringUtils.isNotBlank(waitStrategy)) {
+            listener.setWaitStrategy(waitStrategy);
+        }
+        String nioTransport = params.get("incrementStrategyLogNioTransport");
+        if (StringUtils.isNotBlank(nioTransport)) {
+            listener.setNioTransport(Boolean.parseBoolean(nioTransport));
+        }
         listener.setListenerType(ListenerTypeEnum.LOG.getType());
     }
 
@@ -101,6 +101,12 @@ public class MappingChecker extends AbstractChecker implements ApplicationContex
         mapping.setThreadNum(NumberUtils.toInt(threadNum, mapping.getThreadNum()));
         String batchNum = params.get("batchNum");
         mapping.setBatchNum(NumberUtils.toInt(batchNum, mapping.getBatchNum()));
+        String chunkNum = params.get("chunkNum");
+        mapping.setChunkNum(Math.max(1, NumberUtils.toInt(chunkNum, mapping.getChunkNum())));
+        String exactCount = params.get("exactCount");
+        if (StringUtils.isNotBlank(exactCount)) {
+            mapping.setExactCount(Boolean.parseBoolean(exactCount));
+        }
 
         // 增量配置(日志/定时)
         String incrementStrategy = params.get("incrementStrategy");
@@ -6,6 +6,7 @@ import io.mykit.data.common.utils.StringUtils;
 import io.mykit.data.monitor.config.ListenerConfig;
 import io.mykit.data.monitor.enums.ListenerTypeEnum;
 import io.mykit.data.parser.model.Mapping;
+import org.apache.commons.lang.math.NumberUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
@@ -24,6 +25,9 @@ public class TimingConfigChecker implements MappingConfigChecker {
         String insert = params.get("incrementStrategyTimingInsert");
         String update = params.get("incrementStrategyTimingUpdate");
         String delete = params.get("incrementStrategyTimingDelete");
+        String watermarkField = params.get("incrementStrategyTimingWatermarkField");
+        String watermarkKey = params.get("incrementStrategyTimingWatermarkKey");
+        String pollThreadNum = params.get("incrementStrategyTimingPollThreadNum");
 
         ListenerConfig config = mapping.getListener();
         Assert.notNull(config, "ListenerConfig can not be null.");
@@ -43,6 +47,22 @@ public class TimingConfigChecker implements MappingConfigChecker {
         if (StringUtils.isNotBlank(delete)) {
             config.setDelete(delete);
         }
+        // 允许清空(恢复按页码分页)
+        if (null != watermarkField) {
+            config.setWatermarkField(StringUtils.trim(watermarkField));
+        }
+        if (null != watermarkKey) {
+            config.setWatermarkKey(StringUtils.trim(watermarkKey));
+        }
+        config.setPollThreadNum(Math.max(1, NumberUtils.toInt(pollThreadNum, config.getPollThreadNum())));
+        String adaptivePolling = params.get("incrementStrategyTimingAdaptivePolling");
+        if (StringUtils.isNotBlank(adaptivePolling)) {
+            config.setAdaptivePolling(Boolean.parseBoolean(adaptivePolling));
+        }
+        String minPollInterval = params.get("incrementStrategyTimingMinPollInterval");
+        String maxPollInterval = params.get("incrementStrategyTimingMaxPollInterval");
+        config.setMinPollInterval(Math.max(1, NumberUtils.toInt(minPollInterval, config.getMinPollInterval())));
+        config.setMaxPollInterval(Math.max(config.getMinPollInterval(), NumberUtils.toInt(maxPollInterval, config.getMaxPollInterval())));
 
         config.setListenerType(ListenerTypeEnum.TIMING.getType());
         mapping.setListener(config);
@@ -12,7 +12,9 @@ import io.mykit.data.connector.enums.ConnectorEnum;
 import io.mykit.data.manage.Manager;
 import io.mykit.data.parser.model.ConfigModel;
 import io.mykit.data.parser.model.FieldMapping;
+import io.mykit.data.parser.enums.ModelEnum;
 import io.mykit.data.parser.model.Mapping;
+import io.mykit.data.parser.model.Meta;
 import io.mykit.data.parser.model.TableGroup;
 import io.mykit.data.parser.utils.PickerUtils;
 import io.mykit.data.storage.constants.ConfigConstants;
@@ -26,6 +28,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 
 @Component
 public class TableGroupChecker extends AbstractChecker {
@@ -35,6 +38,9 @@ public class TableGroupChecker extends AbstractChecker {
     @Autowired
     private Manager manager;
 
+    @Autowired
+    private Executor taskExecutor;
+
     @Override
     public ConfigModel checkAddConfigModel(Map<String, String> params) {
         logger.info("params:{}", params);
@@ -103,9 +109,48 @@ public class TableGroupChecker extends AbstractChecker {
         Map<String, String> command = manager.getCommand(mapping, group);
         tableGroup.setCommand(command);
 
-        // 获取数据源总数
-        long count = manager.getCount(mapping.getSourceConnectorId(), command);
+        // 获取数据源总数(估算, 避免大表count阻塞请求)
+        long count = manager.getCount(mapping.getSourceConnectorId(), command, true);
         tableGroup.getSourceTable().setCount(count);
+
+        // 后台精确统计
+        if (mapping.isExactCount()) {
+            final String mappingId = mapping.getId();
+            final String tableGroupId = tableGroup.getId();
+            taskExecutor.execute(() -> updateExactCount(mappingId, tableGroupId, command));
+        }
+    }
+
+    private void updateExactCount(String mappingId, String tableGroupId, Map<String, String> command) {
+        try {
+            Mapping mapping = manager.getMapping(mappingId);
+            if (null == mapping) {
+                return;
+            }
+            long count = manager.getCount(mapping.getSourceConnectorId(), command, false);
+
+            // 映射关系已删除或已重新生成command
+            TableGroup tableGroup = manager.getTableGroup(tableGroupId);
+            if (null == tableGroup || !command.equals(tableGroup.getCommand())) {
+                return;
+            }
+            tableGroup.getSourceTable().setCount(count);
+            manager.editTableGroup(tableGroup);
+
+            // 全量同步, 更新总数
+            Meta meta = manager.getMeta(mapping.getMetaId());
+            if (null != meta && ModelEnum.isFull(mapping.getModel())) {
+                long total = 0;
+                for (TableGroup g : manager.getTableGroupAll(mappingId)) {
+                    total += g.getSourceTable().getCount();
+                }
+                meta.getTotal().set(total);
+                manager.editMeta(meta);
+            }
+            logger.info("精确统计完成:{}, {}", tableGroup.getSourceTable().getName(), count);
+        } catch (Exception e) {
+            logger.error("精确统计总数失败:{}", e.getMessage());
+        }
     }
 
     private Table getTable(String connectorId, String tableName) {
@@ -36,6 +36,20 @@ public interface MonitorService {
      */
     Map getThreadInfo();
 
+    /**
+     * 获取连接池信息
+     *
+     * @return
+     */
+    List<Map<String, Object>> getDataSourceInfo();
+
+    /**
+     * 获取增量任务信息
+     *
+     * @return
+     */
+    List<Map<String, Object>> getIncrementInfo();
+
     /**
      * 获取驱动元信息列表
      *
@@ -64,6 +64,16 @@ public class MonitorServiceImpl  implements MonitorService {
         return monitor.getThreadInfo();
     }
 
+    @Override
+    public List<Map<String, Object>> getDataSourceInfo() {
+        return monitor.getDataSourceInfo();
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncrementInfo() {
+        return monitor.getIncrementInfo();
+    }
+
     @Override
     public List<MetaVo> getMetaAll() {
         List<MetaVo> list = manager.getMetaAll()
@@ -36,6 +36,24 @@ public interface Event {
      */
     void changedLogEvent(String tableName, String event, List<Object> before, List<Object> after);
 
+    /**
+     * 日志数据批量变更事件（同一条日志事件包含的所有行）
+     *
+     * @param tableName 表名
+     * @param event     事件
+     * @param before    变化前(每行一个元素, 没有时为空集合)
+     * @param after     变化后(每行一个元素, 没有时为空集合)
+     */
+    void changedLogBatchEvent(String tableName, String event, List<List<Object>> before, List<List<Object>> after);
+
+    /**
+     * 日志事务变更事件（同一个源事务的所有行事件, 按日志顺序）
+     *
+     * @param events     行变更事件
+     * @param checkpoint 写入完成后更新增量点(可为空), 必须按事件顺序执行
+     */
+    void changedLogTransactionEvent(List<RowChangedEvent> events, Runnable checkpoint);
+
     /**
      * 定时数据变更事件
      */
@@ -0,0 +1,70 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.common.event;
+
+import java.util.List;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 日志行变更事件（对应一条日志行事件, 包含该事件的所有行）
+ */
+public final class RowChangedEvent {
+
+    // 表名
+    private final String tableName;
+
+    // 事件
+    private final String event;
+
+    // 变化前(每行一个元素, 没有时为空集合)
+    private final List<List<Object>> before;
+
+    // 变化后(每行一个元素, 没有时为空集合)
+    private final List<List<Object>> after;
+
+    public RowChangedEvent(String tableName, String event, List<List<Object>> before, List<List<Object>> after) {
+        this.tableName = tableName;
+        this.event = event;
+        this.before = before;
+        this.after = after;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public List<List<Object>> getBefore() {
+        return before;
+    }
+
+    public List<List<Object>> getAfter() {
+        return after;
+    }
+
+    /**
+     * 行数
+     *
+     * @return
+     */
+    public int size() {
+        return Math.max(before.size(), after.size());
+    }
+}
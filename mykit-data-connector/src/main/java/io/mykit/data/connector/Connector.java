@@ -38,6 +38,13 @@ public interface Connector {
      */
     boolean isAlive(ConnectorConfig config);
 
+    /**
+     * 断开连接器连接（释放连接池）
+     *
+     * @param config 连接器配置
+     */
+    void disconnect(ConnectorConfig config);
+
     /**
      * 获取所有表名
      * @param config 连接的配置信息
@@ -69,6 +76,14 @@ public interface Connector {
      */
     long getCount(ConnectorConfig config, Map<String, String> command);
 
+    /**
+     * 获取总数
+     * @param config   连接器配置
+     * @param command  执行命令
+     * @param estimate 是否估算（使用统计信息或执行计划，不扫描数据）
+     */
+    long getCount(ConnectorConfig config, Map<String, String> command, boolean estimate);
+
     /**
      * 分页获取数据源数据
      * @param config    连接器配置
@@ -79,6 +94,57 @@ public interface Connector {
      */
     Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, int pageIndex, int pageSize);
 
+    /**
+     * 按主键分页获取数据源数据（从上一页最后的主键继续读取）
+     * @param config   连接器配置
+     * @param command  执行命令
+     * @param lastKey  上一页最后一条数据的主键值，为空时读取首页
+     * @param pageSize 页大小
+     */
+    Result reader(ConnectorConfig config, Map<String, String> command, Object lastKey, int pageSize);
+
+    /**
+     * 按(增量字段, 主键)分页获取数据源数据（从上一页最后的增量字段值和主键继续读取）
+     * @param config         连接器配置
+     * @param command        执行命令
+     * @param args           命令参数
+     * @param watermarkField 增量字段
+     * @param keyField       主键
+     * @param lastValue      上一页最后一条数据的增量字段值，为空时读取首页
+     * @param lastKey        上一页最后一条数据的主键值
+     * @param pageSize       页大小
+     */
+    Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, String watermarkField, String keyField, Object lastValue, Object lastKey, int pageSize);
+
+    /**
+     * 流式获取数据源数据（单个游标读取，按块回调处理器）
+     * @param config    连接器配置
+     * @param command   执行命令
+     * @param lastKey   上一次读取的最后一条数据的主键值，为空时从头读取
+     * @param chunkSize 每块数据条数
+     * @param handler   数据块处理器，返回false时中止读取
+     */
+    void reader(ConnectorConfig config, Map<String, String> command, Object lastKey, int chunkSize, ReaderHandler handler);
+
+    /**
+     * 流式获取主键范围(lastKey, endKey]内的数据源数据
+     * @param config    连接器配置
+     * @param command   执行命令
+     * @param lastKey   范围下界（不包含）
+     * @param endKey    范围上界（包含）
+     * @param chunkSize 每块数据条数
+     * @param handler   数据块处理器，返回false时中止读取
+     */
+    void reader(ConnectorConfig config, Map<String, String> command, Object lastKey, Object endKey, int chunkSize, ReaderHandler handler);
+
+    /**
+     * 获取主键范围
+     * @param config  连接器配置
+     * @param command 执行命令
+     * @return [最小值, 最大值]，不支持时返回null
+     */
+    Object[] getKeyRange(ConnectorConfig config, Map<String, String> command);
+
     /**
      * 批量写入目标源数据
      *
@@ -99,4 +165,24 @@ public interface Connector {
      * @param data    数据
      */
     Result writer(ConnectorConfig config, List<Field> fields, Map<String, String> command, String event, Map<String, Object> data);
+
+    /**
+     * 批量写入目标源数据（同一事件）
+     *
+     * @param config  连接器配置
+     * @param fields  字段信息
+     * @param command 执行命令
+     * @param event   事件
+     * @param data    数据
+     */
+    Result writer(ConnectorConfig config, List<Field> fields, Map<String, String> command, String event, List<Map<String, Object>> data);
+
+    /**
+     * 在同一个事务中执行写入（当前线程内的写入共用一个连接, 执行完成后提交）
+     * <p>事务内的写入异常直接抛出并回滚整个事务, 不再逐行重试</p>
+     *
+     * @param config   连接器配置
+     * @param runnable 写入操作
+     */
+    void transaction(ConnectorConfig config, Runnable runnable);
 }
@@ -37,16 +37,91 @@ public class ConnectorConstants {
      */
     public static final String OPERTION_DELETE = "DELETE";
 
+    /**
+     * 批量导入
+     * <p>例如：LOAD DATA LOCAL INFILE 'mykit-data' INTO TABLE USER (ID, NAME)</p>
+     */
+    public static final String OPERTION_LOAD = "LOAD";
+
+    /**
+     * 查询是否存在数据
+     * <p>例如：SELECT COUNT(1) FROM USER WHERE ROWNUM = 1</p>
+     */
+    public static final String OPERTION_QUERY_EXIST = "QUERY_EXIST";
+
+    /**
+     * 本次全量同步是否使用直接路径插入(首次写入时确定, 保存在本次任务的命令副本中)
+     */
+    public static final String OPERTION_DIRECT_PATH = "DIRECT_PATH";
+
+    /**
+     * 本次全量同步是否只有一个线程写入目标表(由全量同步任务写入命令副本)
+     */
+    public static final String OPERTION_SINGLE_WRITER = "SINGLE_WRITER";
+
     /**
      * 查询
      */
     public static final String OPERTION_QUERY = "QUERY";
 
+    /**
+     * 主键分页查询(首页)
+     * <p>例如：SELECT ID, NAME FROM USER ORDER BY ID LIMIT ?</p>
+     */
+    public static final String OPERTION_QUERY_KEYSET_BEGIN = "QUERY_KEYSET_BEGIN";
+
+    /**
+     * 主键分页查询(从上一页最后的主键继续)
+     * <p>例如：SELECT ID, NAME FROM USER WHERE ID > ? ORDER BY ID LIMIT ?</p>
+     */
+    public static final String OPERTION_QUERY_KEYSET = "QUERY_KEYSET";
+
+    /**
+     * 主键分页字段
+     */
+    public static final String OPERTION_QUERY_KEYSET_FIELD = "QUERY_KEYSET_FIELD";
+
+    /**
+     * 流式查询(不分页，单个游标读取全部数据，存在主键时按主键排序)
+     * <p>例如：SELECT ID, NAME FROM USER ORDER BY ID</p>
+     */
+    public static final String OPERTION_QUERY_STREAM = "QUERY_STREAM";
+
+    /**
+     * 增量字段查询(不排序, 由增量字段模式追加条件和排序)
+     * <p>例如：SELECT ID, NAME, UPDATE_TIME FROM USER WHERE (NAME='binghe')</p>
+     */
+    public static final String OPERTION_QUERY_WATERMARK = "QUERY_WATERMARK";
+
+    /**
+     * 流式查询(从上一次读取的最后主键继续)
+     * <p>例如：SELECT ID, NAME FROM USER WHERE ID > ? ORDER BY ID</p>
+     */
+    public static final String OPERTION_QUERY_STREAM_KEYSET = "QUERY_STREAM_KEYSET";
+
+    /**
+     * 流式查询(读取主键范围内的数据)
+     * <p>例如：SELECT ID, NAME FROM USER WHERE ID > ? AND ID <= ? ORDER BY ID</p>
+     */
+    public static final String OPERTION_QUERY_STREAM_RANGE = "QUERY_STREAM_RANGE";
+
+    /**
+     * 查询主键范围
+     * <p>例如：SELECT MIN(ID), MAX(ID) FROM USER</p>
+     */
+    public static final String OPERTION_QUERY_KEY_RANGE = "QUERY_KEY_RANGE";
+
     /**
      * 查询总数
      */
     public static final String OPERTION_QUERY_COUNT = "QUERY_COUNT";
 
+    /**
+     * 估算总数(统计信息或执行计划)
+     * <p>例如：SELECT TABLE_ROWS FROM information_schema.TABLES WHERE ...</p>
+     */
+    public static final String OPERTION_QUERY_COUNT_ESTIMATE = "QUERY_COUNT_ESTIMATE";
+
     /**
      * 查询最近记录点
      * <p>例如：SELECT MAX(MY_TEST.LAST_TIME) FROM MY_TEST</p>
@@ -28,6 +28,41 @@ public class DatabaseConstants {
      */
     public static final String MYSQL_PAGE_SQL = " LIMIT ?,?";
 
+    /**
+     * Mysql主键分页语句
+     */
+    public static final String MYSQL_KEYSET_PAGE_SQL = " LIMIT ?";
+
+    /**
+     * Mysql流式读取时服务端发送结果的超时时间(秒), 目标源写入较慢时避免超过net_write_timeout(默认60秒)中断读取
+     */
+    public static final int MYSQL_STREAM_NET_WRITE_TIMEOUT = 3600;
+
+    /**
+     * Mysql多行插入单条语句最大行数
+     */
+    public static final int MYSQL_MULTI_ROW_INSERT_MAX_ROWS = 1000;
+
+    /**
+     * Mysql多行插入单条语句最大字节数(低于max_allowed_packet默认值4M)
+     */
+    public static final int MYSQL_MULTI_ROW_INSERT_MAX_BYTES = 1024 * 1024;
+
+    /**
+     * Mysql单条语句最大参数个数
+     */
+    public static final int MYSQL_MAX_PARAMS = 65535;
+
+    /**
+     * Mysql批量导入语句(字段以制表符分隔, 行以换行符分隔, 反斜杠转义, \N表示NULL)
+     */
+    public static final String MYSQL_LOAD_SQL = "LOAD DATA LOCAL INFILE 'mykit-data' INTO TABLE %s CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'";
+
+    /**
+     * Mysql执行计划
+     */
+    public static final String MYSQL_EXPLAIN = "EXPLAIN ";
+
     /**
      * Mysql驱动
      */
@@ -44,6 +79,36 @@ public class DatabaseConstants {
      */
     public static final String ORACLE_PAGE_SQL_END = ")A WHERE ROWNUM <= ?) WHERE RN > ?";
 
+    /**
+     * Oracle主键分页语句开始
+     */
+    public static final String ORACLE_KEYSET_PAGE_SQL_START = "SELECT * FROM (";
+
+    /**
+     * Oracle主键分页语句结束
+     */
+    public static final String ORACLE_KEYSET_PAGE_SQL_END = ") WHERE ROWNUM <= ?";
+
+    /**
+     * Oracle流式读取最大fetchSize(驱动按fetchSize * 行宽预分配缓冲区)
+     */
+    public static final int ORACLE_STREAM_MAX_FETCH_SIZE = 1000;
+
+    /**
+     * Oracle直接路径插入提示(11gR2+)
+     */
+    public static final String ORACLE_APPEND_VALUES_HINT = "INSERT /*+ APPEND_VALUES */ INTO ";
+
+    /**
+     * Oracle连接默认预取行数(驱动默认10行)
+     */
+    public static final String ORACLE_DEFAULT_ROW_PREFETCH = "500";
+
+    /**
+     * Oracle执行计划
+     */
+    public static final String ORACLE_EXPLAIN = "EXPLAIN PLAN FOR ";
+
     /**
      * Oracle驱动
      */
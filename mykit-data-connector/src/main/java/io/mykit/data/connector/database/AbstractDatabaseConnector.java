@@ -17,10 +17,12 @@ package io.mykit.data.connector.database;
 
 import io.mykit.data.common.model.Result;
 import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.ReaderHandler;
 import io.mykit.data.connector.config.*;
 import io.mykit.data.connector.constants.ConnectorConstants;
+import io.mykit.data.connector.database.pool.DataSourcePool;
+import io.mykit.data.connector.database.sqlbuilder.SqlBuilderInsert;
 import io.mykit.data.connector.enums.OperationEnum;
-import io.mykit.data.connector.enums.SetterEnum;
 import io.mykit.data.connector.enums.SqlBuilderEnum;
 import io.mykit.data.connector.exception.ConnectorException;
 import io.mykit.data.connector.utils.DatabaseUtils;
@@ -28,13 +30,22 @@ import io.mykit.data.connector.utils.JDBCUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
+import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -63,6 +74,11 @@ public abstract class AbstractDatabaseConnector implements Database{
         return null != connection;
     }
 
+    @Override
+    public void disconnect(ConnectorConfig config) {
+        DataSourcePool.evict((DatabaseConfig) config);
+    }
+
     @Override
     public List<String> getTable(ConnectorConfig config) {
         List<String> tables = new ArrayList<>();
@@ -74,9 +90,6 @@ public abstract class AbstractDatabaseConnector implements Database{
             tables = jdbcTemplate.queryForList(sql, String.class);
         } catch (Exception e) {
             logger.error("getTable failed", e.getMessage());
-        } finally {
-            // 释放连接
-            this.close(jdbcTemplate);
         }
         return tables;
     }
@@ -89,13 +102,11 @@ public abstract class AbstractDatabaseConnector implements Database{
         try {
             jdbcTemplate = getJdbcTemplate(cfg);
             String quotation = buildSqlWithQuotation();
-            String metaSql = new StringBuilder().append("select * from ").append(quotation).append(tableName).append(quotation).toString();
-            metaInfo = DatabaseUtils.getMetaInfo(jdbcTemplate, metaSql, tableName);
+            String metaSql = new StringBuilder().append("select * from ").append(quotation).append(tableName).append(quotation)
+                    .append(" where 1=0").toString();
+            metaInfo = DatabaseUtils.getMetaInfo(jdbcTemplate, metaSql, tableName, getTableRows(cfg, tableName));
         } catch (Exception e) {
             logger.error(e.getMessage());
-        } finally {
-            // 释放连接
-            this.close(jdbcTemplate);
         }
         return metaInfo;
     }
@@ -113,6 +124,38 @@ public abstract class AbstractDatabaseConnector implements Database{
         String query = SqlBuilderEnum.QUERY.getName();
         map.put(query, buildSql(query, table, queryFilterSql));
 
+        // 获取主键分页SQL(仅支持单一主键)
+        List<String> pkList = table.getColumn().stream().filter(f -> f.isPk()).map(f -> f.getName()).distinct().collect(Collectors.toList());
+        if (1 == pkList.size()) {
+            String keysetBegin = SqlBuilderEnum.QUERY_KEYSET_BEGIN.getName();
+            map.put(keysetBegin, buildSql(keysetBegin, table, queryFilterSql));
+            String keyset = SqlBuilderEnum.QUERY_KEYSET.getName();
+            map.put(keyset, buildSql(keyset, table, queryFilterSql));
+            map.put(ConnectorConstants.OPERTION_QUERY_KEYSET_FIELD, pkList.get(0));
+            String streamKeyset = SqlBuilderEnum.QUERY_STREAM_KEYSET.getName();
+            map.put(streamKeyset, buildSql(streamKeyset, table, queryFilterSql));
+            String streamRange = SqlBuilderEnum.QUERY_STREAM_RANGE.getName();
+            map.put(streamRange, buildSql(streamRange, table, queryFilterSql));
+
+            // 获取主键范围SQL
+            String quotation = buildSqlWithQuotation();
+            StringBuilder queryKeyRange = new StringBuilder();
+            String pk = new StringBuilder().append(quotation).append(pkList.get(0)).append(quotation).toString();
+            queryKeyRange.append("select min(").append(pk).append("), max(").append(pk).append(") from ").append(quotation).append(table.getName()).append(quotation);
+            if (StringUtils.isNotBlank(queryFilterSql)) {
+                queryKeyRange.append(queryFilterSql);
+            }
+            map.put(ConnectorConstants.OPERTION_QUERY_KEY_RANGE, queryKeyRange.toString());
+        }
+
+        // 获取流式查询SQL
+        String stream = SqlBuilderEnum.QUERY_STREAM.getName();
+        String streamSql = buildSql(stream, table, queryFilterSql);
+        map.put(stream, streamSql);
+
+        // 获取增量字段查询SQL(去掉主键排序)
+        map.put(ConnectorConstants.OPERTION_QUERY_WATERMARK, StringUtils.contains(streamSql, " ORDER BY ") ? StringUtils.substringBeforeLast(streamSql, " ORDER BY ") : streamSql);
+
         // 获取查询总数SQL
         StringBuilder queryCount = new StringBuilder();
         String quotation = buildSqlWithQuotation();
@@ -121,6 +164,11 @@ public abstract class AbstractDatabaseConnector implements Database{
             queryCount.append(queryFilterSql);
         }
         map.put(ConnectorConstants.OPERTION_QUERY_COUNT, queryCount.toString());
+
+        // 获取估算总数SQL
+        StringBuilder queryEstimate = new StringBuilder();
+        queryEstimate.append("select * from ").append(quotation).append(table.getName()).append(quotation).append(queryFilterSql);
+        putEstimateCountSql(map, table.getName(), queryEstimate.toString(), StringUtils.isNotBlank(queryFilterSql));
         return map;
     }
 
@@ -158,9 +206,22 @@ public abstract class AbstractDatabaseConnector implements Database{
         } catch (Exception e) {
             logger.error(e.getMessage());
             throw new ConnectorException(e.getMessage());
-        } finally {
-            // 释放连接
-            this.close(jdbcTemplate);
+        }
+    }
+
+    @Override
+    public long getCount(ConnectorConfig config, Map<String, String> command, boolean estimate) {
+        String queryCountEstimateSql = command.get(ConnectorConstants.OPERTION_QUERY_COUNT_ESTIMATE);
+        if (!estimate || StringUtils.isBlank(queryCountEstimateSql)) {
+            return getCount(config, command);
+        }
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        try {
+            return queryEstimateCount(getJdbcTemplate(cfg), queryCountEstimateSql);
+        } catch (Exception e) {
+            logger.error("估算总数失败:{}", e.getMessage());
+            return 0;
         }
     }
 
@@ -194,9 +255,200 @@ public abstract class AbstractDatabaseConnector implements Database{
         } catch (Exception e) {
             logger.error(e.getMessage());
             throw new ConnectorException(e.getMessage());
+        }
+    }
+
+    @Override
+    public Result reader(ConnectorConfig config, Map<String, String> command, Object lastKey, int pageSize) {
+        // 1、获取主键分页SQL
+        boolean begin = null == lastKey || StringUtils.isBlank(String.valueOf(lastKey));
+        String querySql = command.get(begin ? SqlBuilderEnum.QUERY_KEYSET_BEGIN.getName() : SqlBuilderEnum.QUERY_KEYSET.getName());
+        Assert.hasText(querySql, "主键分页查询语句不能为空.");
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        try {
+            // 2、获取连接
+            JdbcTemplate jdbcTemplate = getJdbcTemplate(cfg);
+
+            // 3、设置参数
+            Object[] args = begin ? new Object[]{pageSize} : new Object[]{lastKey, pageSize};
+
+            // 4、执行SQL
+            List<Map<String, Object>> list = jdbcTemplate.queryForList(querySql, args);
+
+            // 5、返回结果集
+            return new Result(list);
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            throw new ConnectorException(e.getMessage());
+        }
+    }
+
+    @Override
+    public Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, String watermarkField, String keyField, Object lastValue, Object lastKey, int pageSize) {
+        // 1、获取查询SQL(不分页)
+        String streamSql = command.get(SqlBuilderEnum.QUERY_STREAM.getName());
+        Assert.hasText(streamSql, "查询语句不能为空.");
+        Assert.hasText(watermarkField, "增量字段不能为空.");
+        Assert.hasText(keyField, "增量主键不能为空.");
+        boolean begin = null == lastValue;
+
+        // 2、数据源表: SELECT ID, TS FROM USER WHERE (TS > ? OR (TS = ? AND ID > ?)) ORDER BY TS, ID
+        // 自定义查询: SELECT * FROM (查询SQL) T_ WHERE (T_.TS > ? OR (T_.TS = ? AND T_.ID > ?)) ORDER BY T_.TS, T_.ID
+        String quotation = buildSqlWithQuotation();
+        String ts = quotation + watermarkField + quotation;
+        String pk = quotation + keyField + quotation;
+        String watermarkSql = command.get(ConnectorConstants.OPERTION_QUERY_WATERMARK);
+        StringBuilder sql = new StringBuilder();
+        if (StringUtils.isNotBlank(watermarkSql)) {
+            // 条件直接追加到表查询, 可以使用(增量字段, 主键)索引; 读取结果需要包含增量字段和主键
+            String querySql = addSelectField(addSelectField(watermarkSql, keyField, quotation), watermarkField, quotation);
+            sql.append(querySql).append(StringUtils.contains(querySql, " WHERE ") ? " AND " : " WHERE ");
+        } else {
+            ts = "T_." + ts;
+            pk = "T_." + pk;
+            String querySql = StringUtils.removeEnd(streamSql, " ORDER BY " + command.get(ConnectorConstants.OPERTION_QUERY_KEYSET_FIELD));
+            sql.append("SELECT * FROM (").append(querySql).append(") T_ WHERE ");
+        }
+        if (begin) {
+            // 增量字段为空的行无法续读, 不处理
+            sql.append(ts).append(" IS NOT NULL");
+        } else {
+            sql.append("(").append(ts).append(" > ? OR (").append(ts).append(" = ? AND ").append(pk).append(" > ?))");
+        }
+        sql.append(" ORDER BY ").append(ts).append(", ").append(pk);
+        String pageSql = getKeysetPageSql(sql.toString());
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        try {
+            // 3、获取连接
+            JdbcTemplate jdbcTemplate = getJdbcTemplate(cfg);
+
+            // 4、设置参数
+            List<Object> params = new ArrayList<>(args);
+            if (!begin) {
+                Collections.addAll(params, lastValue, lastValue, lastKey);
+            }
+            params.add(pageSize);
+
+            // 5、执行SQL
+            List<Map<String, Object>> list = jdbcTemplate.queryForList(pageSql, params.toArray());
+
+            // 6、返回结果集
+            return new Result(list);
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            throw new ConnectorException(e.getMessage());
+        }
+    }
+
+    /**
+     * 查询字段中不存在时添加字段
+     *
+     * @param querySql
+     * @param field
+     * @param quotation
+     * @return
+     */
+    private String addSelectField(String querySql, String field, String quotation) {
+        String columns = StringUtils.substringBetween(querySql, "SELECT ", " FROM ");
+        if (null != columns) {
+            for (String column : StringUtils.split(columns, ",")) {
+                if (StringUtils.equalsIgnoreCase(StringUtils.remove(column.trim(), quotation), field)) {
+                    return querySql;
+                }
+            }
+        }
+        return new StringBuilder("SELECT ").append(quotation).append(field).append(quotation).append(", ")
+                .append(StringUtils.substringAfter(querySql, "SELECT ")).toString();
+    }
+
+    @Override
+    public void reader(ConnectorConfig config, Map<String, String> command, Object lastKey, int chunkSize, ReaderHandler handler) {
+        reader(config, command, lastKey, null, chunkSize, handler);
+    }
+
+    @Override
+    public void reader(ConnectorConfig config, Map<String, String> command, Object lastKey, Object endKey, int chunkSize, ReaderHandler handler) {
+        // 1、获取流式查询SQL
+        boolean begin = null == lastKey || StringUtils.isBlank(String.valueOf(lastKey));
+        boolean range = null != endKey;
+        String type = range ? SqlBuilderEnum.QUERY_STREAM_RANGE.getName()
+                : (begin ? SqlBuilderEnum.QUERY_STREAM.getName() : SqlBuilderEnum.QUERY_STREAM_KEYSET.getName());
+        String querySql = command.get(type);
+        Assert.hasText(querySql, "流式查询语句不能为空.");
+        Assert.isTrue(!range || !begin, "主键范围下界不能为空.");
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        Connection connection = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        boolean aborted = false;
+        try {
+            // 2、获取独立连接(游标会占用连接直到读完, 不占用连接池)
+            connection = JDBCUtils.getConnection(cfg.getDriverClassName(), cfg.getUrl(), cfg.getUsername(), cfg.getPassword());
+            prepareStreamConnection(connection);
+
+            // 3、设置参数
+            ps = connection.prepareStatement(querySql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(getStreamFetchSize(chunkSize));
+            if (!begin) {
+                ps.setObject(1, lastKey);
+            }
+            if (range) {
+                ps.setObject(2, endKey);
+            }
+
+            // 4、执行SQL, 按块回调
+            rs = ps.executeQuery();
+            ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+            List<Map<String, Object>> data = new ArrayList<>(chunkSize);
+            int rowNum = 0;
+            while (rs.next()) {
+                data.add(rowMapper.mapRow(rs, rowNum++));
+                if (data.size() >= chunkSize) {
+                    if (!handler.handle(data)) {
+                        aborted = true;
+                        break;
+                    }
+                    data = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!aborted && !CollectionUtils.isEmpty(data)) {
+                handler.handle(data);
+            }
+        } catch (Exception e) {
+            aborted = true;
+            logger.error(e.getMessage());
+            throw new ConnectorException(e.getMessage());
         } finally {
-            // 释放连接
-            this.close(jdbcTemplate);
+            // 中止读取时先取消查询, 避免关闭游标时读完剩余数据
+            if (aborted && null != ps) {
+                try {
+                    ps.cancel();
+                } catch (SQLException e) {
+                    logger.error(e.getMessage());
+                }
+            }
+            JDBCUtils.close(rs);
+            JDBCUtils.close(ps, connection);
+        }
+    }
+
+    @Override
+    public Object[] getKeyRange(ConnectorConfig config, Map<String, String> command) {
+        String queryKeyRangeSql = command.get(ConnectorConstants.OPERTION_QUERY_KEY_RANGE);
+        if (StringUtils.isBlank(queryKeyRangeSql)) {
+            return null;
+        }
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        try {
+            JdbcTemplate jdbcTemplate = getJdbcTemplate(cfg);
+            return jdbcTemplate.queryForObject(queryKeyRangeSql, (rs, rowNum) -> new Object[]{rs.getObject(1), rs.getObject(2)});
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            throw new ConnectorException(e.getMessage());
         }
     }
 
@@ -214,9 +466,11 @@ public abstract class AbstractDatabaseConnector implements Database{
             throw new ConnectorException("writer data can not be empty.");
         }
         final int size = data.size();
-        final int fSize = fields.size();
 
         DatabaseConfig cfg = (DatabaseConfig) config;
+        if (isMultiRowInsert()) {
+            return multiRowWriter(cfg, insertSql, fields, data);
+        }
         JdbcTemplate jdbcTemplate = null;
         Result result = new Result();
         try {
@@ -224,10 +478,11 @@ public abstract class AbstractDatabaseConnector implements Database{
             jdbcTemplate = getJdbcTemplate(cfg);
 
             // 3、设置参数
+            final RowBinder binder = new RowBinder(fields);
             jdbcTemplate.batchUpdate(insertSql, new BatchPreparedStatementSetter() {
                 @Override
                 public void setValues(PreparedStatement preparedStatement, int i) throws SQLException {
-                    batchRowsSetter(preparedStatement, fields, fSize, data.get(i));
+                    binder.bind(preparedStatement, data.get(i), 0);
                 }
 
                 @Override
@@ -242,9 +497,6 @@ public abstract class AbstractDatabaseConnector implements Database{
             result.getFail().set(size);
             result.getError().append(e.getMessage()).append("\r\n");
             logger.error(e.getMessage());
-        } finally {
-            // 释放连接
-            this.close(jdbcTemplate);
         }
         return result;
     }
@@ -259,20 +511,6 @@ public abstract class AbstractDatabaseConnector implements Database{
             throw new ConnectorException("writer data can not be empty.");
         }
 
-        // Update / Delete
-        if (StringUtils.equals(ConnectorConstants.OPERTION_UPDATE, event)) {
-            // update attrs by id
-            List<Field> pkList = fields.stream().filter(f -> f.isPk()).collect(Collectors.toList());
-            fields.add(pkList.get(0));
-        } else if (StringUtils.equals(ConnectorConstants.OPERTION_DELETE, event)) {
-            // delete by id
-            List<Field> pkList = fields.stream().filter(f -> f.isPk()).collect(Collectors.toList());
-            fields.clear();
-            fields.add(pkList.get(0));
-        }
-
-        int size = fields.size();
-
         DatabaseConfig cfg = (DatabaseConfig) config;
         JdbcTemplate jdbcTemplate = null;
         Result result = new Result();
@@ -281,41 +519,162 @@ public abstract class AbstractDatabaseConnector implements Database{
             jdbcTemplate = getJdbcTemplate(cfg);
 
             // 3、设置参数
-            int update = jdbcTemplate.update(sql, (ps) -> {
-                Field f = null;
-                for (int i = 0; i < size; i++) {
-                    f = fields.get(i);
-                    SetterEnum.getSetter(f.getType()).set(ps, i + 1, f.getType(), data.get(f.getName()));
-                }
-            });
+            final RowBinder binder = new RowBinder(getEventFields(fields, event));
+            int update = jdbcTemplate.update(sql, (ps) -> binder.bind(ps, data, 0));
             if (0 == update) {
-                throw new ConnectorException(String.format("执行%s操作失败, 数据不存在", event));
+                result.getFailData().add(data);
+                result.getFail().set(1);
+                result.getError().append(String.format("执行%s操作失败, 数据不存在", event)).append("\r\n");
             }
         } catch (Exception e) {
+            // 事务内写入失败时向上抛出, 回滚整个事务
+            throwIfTransactional(event, e);
             // 记录错误数据
             result.getFailData().add(data);
             result.getFail().set(1);
             result.getError().append(e.getMessage()).append("\r\n");
             logger.error(e.getMessage());
-        } finally {
-            // 释放连接
-            this.close(jdbcTemplate);
         }
         return result;
     }
 
+    @Override
+    public Result writer(ConnectorConfig config, List<Field> fields, Map<String, String> command, String event, List<Map<String, Object>> data) {
+        if (CollectionUtils.isEmpty(data) || CollectionUtils.isEmpty(fields)) {
+            logger.error("writer data can not be empty.");
+            throw new ConnectorException("writer data can not be empty.");
+        }
+        if (1 == data.size()) {
+            return writer(config, fields, command, event, data.get(0));
+        }
+
+        // 1、获取 SQL
+        String sql = command.get(event);
+        Assert.hasText(sql, "执行语句不能为空.");
+        final int size = data.size();
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        JdbcTemplate jdbcTemplate = null;
+        Result result = new Result();
+        try {
+            // 2、获取连接
+            jdbcTemplate = getJdbcTemplate(cfg);
+
+            // 3、设置参数
+            final RowBinder binder = new RowBinder(getEventFields(fields, event));
+            int[] updates = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement preparedStatement, int i) throws SQLException {
+                    binder.bind(preparedStatement, data.get(i), 0);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+
+            // 4、影响行数为0的数据记为失败
+            for (int i = 0; i < updates.length && i < size; i++) {
+                if (0 == updates[i]) {
+                    result.getFailData().add(data.get(i));
+                    result.getFail().getAndIncrement();
+                }
+            }
+            if (0 < result.getFail().get()) {
+                result.getError().append(String.format("执行%s操作失败, 数据不存在", event)).append("\r\n");
+            }
+        } catch (Exception e) {
+            // 事务内批量执行失败时向上抛出, 回滚整个事务(部分数据库在语句失败后整个事务不可用, 不能逐行重试)
+            throwIfTransactional(event, e);
+            // 批量执行失败, 已执行成功的数据不再重复写入, 其余数据逐行写入以定位失败数据
+            logger.warn("批量执行{}失败, 改为逐行写入:{}", event, e.getMessage());
+            BatchUpdateException batchException = getBatchUpdateException(e);
+            int[] updates = null != batchException && null != batchException.getUpdateCounts() ? batchException.getUpdateCounts() : new int[0];
+            result = new Result();
+            for (int i = 0; i < size; i++) {
+                if (i < updates.length && Statement.EXECUTE_FAILED != updates[i]) {
+                    if (0 == updates[i]) {
+                        result.getFailData().add(data.get(i));
+                        result.getFail().getAndIncrement();
+                        result.getError().append(String.format("执行%s操作失败, 数据不存在", event)).append("\r\n");
+                    }
+                    continue;
+                }
+                Result r = writer(config, fields, command, event, data.get(i));
+                result.getFailData().addAll(r.getFailData());
+                result.getFail().getAndAdd(r.getFail().get());
+                result.getError().append(r.getError());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 当前线程在事务中写入时, 写入异常不再记录为失败数据, 直接抛出由事务回滚
+     * <p>影响行数为0(数据不存在)的数据仍记录为失败数据, 不回滚事务</p>
+     *
+     * @param event
+     * @param e
+     */
+    private void throwIfTransactional(String event, Exception e) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            logger.error("事务内执行{}失败, 回滚事务:{}", event, e.getMessage());
+            throw e instanceof ConnectorException ? (ConnectorException) e : new ConnectorException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void transaction(ConnectorConfig config, Runnable runnable) {
+        DataSource dataSource = DataSourcePool.getDataSource((DatabaseConfig) config);
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.execute(status -> {
+            runnable.run();
+            return null;
+        });
+    }
+
     @Override
     public JdbcTemplate getJdbcTemplate(DatabaseConfig config) {
         return DatabaseUtils.getJdbcTemplate(config);
     }
 
-    @Override
-    public void close(JdbcTemplate jdbcTemplate) {
-        try {
-            DatabaseUtils.close(jdbcTemplate);
-        } catch (SQLException e) {
-            logger.error("Close jdbcTemplate failed: {}", e.getMessage());
+    private BatchUpdateException getBatchUpdateException(Throwable e) {
+        while (null != e) {
+            if (e instanceof BatchUpdateException) {
+                return (BatchUpdateException) e;
+            }
+            e = e.getCause();
+        }
+        return null;
+    }
+
+    /**
+     * 获取事件绑定的字段
+     * <ol>
+     * <li>Insert: 所有字段</li>
+     * <li>Update: 所有字段 + 主键</li>
+     * <li>Delete: 主键</li>
+     * </ol>
+     *
+     * @param fields
+     * @param event
+     * @return
+     */
+    private List<Field> getEventFields(List<Field> fields, String event) {
+        if (StringUtils.equals(ConnectorConstants.OPERTION_UPDATE, event)) {
+            // update attrs by id
+            List<Field> list = new ArrayList<>(fields);
+            list.add(fields.stream().filter(f -> f.isPk()).findFirst().get());
+            return list;
         }
+        if (StringUtils.equals(ConnectorConstants.OPERTION_DELETE, event)) {
+            // delete by id
+            List<Field> list = new ArrayList<>(1);
+            list.add(fields.stream().filter(f -> f.isPk()).findFirst().get());
+            return list;
+        }
+        return fields;
     }
 
     /**
@@ -343,12 +702,9 @@ public abstract class AbstractDatabaseConnector implements Database{
         MetaInfo metaInfo = null;
         try {
             jdbcTemplate = getJdbcTemplate(cfg);
-            metaInfo = DatabaseUtils.getMetaInfo(jdbcTemplate, cfg.getSql(), null);
+            metaInfo = DatabaseUtils.getMetaInfo(jdbcTemplate, cfg.getSql(), null, 0);
         } catch (Exception e) {
             logger.error(e.getMessage());
-        } finally {
-            // 释放连接
-            this.close(jdbcTemplate);
         }
         return metaInfo;
     }
@@ -375,6 +731,7 @@ public abstract class AbstractDatabaseConnector implements Database{
             querySql += queryFilterSql;
         }
         map.put(SqlBuilderEnum.QUERY.getName(), querySql);
+        map.put(SqlBuilderEnum.QUERY_STREAM.getName(), querySql);
 
         // 获取查询总数SQL
         StringBuilder queryCount = new StringBuilder();
@@ -383,9 +740,76 @@ public abstract class AbstractDatabaseConnector implements Database{
             queryCount.append(queryFilterSql);
         }
         map.put(ConnectorConstants.OPERTION_QUERY_COUNT, queryCount.toString());
+
+        // 获取估算总数SQL
+        StringBuilder queryEstimate = new StringBuilder();
+        queryEstimate.append("select * from (").append(table.getName()).append(")").append(tableLabel).append(queryFilterSql);
+        putEstimateCountSql(map, null, queryEstimate.toString(), true);
         return map;
     }
 
+    /**
+     * 获取表统计行数SQL（来自数据库统计信息，非精确值），不支持时返回null
+     *
+     * @param tableName
+     * @return
+     */
+    protected String getTableRowsSql(String tableName) {
+        return null;
+    }
+
+    /**
+     * 获取估算总数SQL（统计信息或执行计划），不支持时返回null
+     *
+     * @param tableName 表名（DQL为空）
+     * @param querySql  查询语句（含过滤条件）
+     * @param hasFilter 是否存在过滤条件
+     * @return
+     */
+    protected String getEstimateCountSql(String tableName, String querySql, boolean hasFilter) {
+        return null;
+    }
+
+    /**
+     * 执行估算总数SQL
+     *
+     * @param jdbcTemplate
+     * @param sql
+     * @return
+     */
+    protected long queryEstimateCount(JdbcTemplate jdbcTemplate, String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return null == count ? 0 : count;
+    }
+
+    /**
+     * 获取表统计行数（非精确值）
+     *
+     * @param config
+     * @param tableName
+     * @return 统计行数，没有统计信息时返回0
+     */
+    protected long getTableRows(DatabaseConfig config, String tableName) {
+        String sql = getTableRowsSql(tableName);
+        if (StringUtils.isBlank(sql)) {
+            return 0;
+        }
+        try {
+            List<Long> rows = getJdbcTemplate(config).queryForList(sql, Long.class);
+            return CollectionUtils.isEmpty(rows) || null == rows.get(0) ? 0 : rows.get(0);
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            return 0;
+        }
+    }
+
+    private void putEstimateCountSql(Map<String, String> map, String tableName, String querySql, boolean hasFilter) {
+        String sql = getEstimateCountSql(tableName, querySql, hasFilter);
+        if (StringUtils.isNotBlank(sql)) {
+            map.put(ConnectorConstants.OPERTION_QUERY_COUNT_ESTIMATE, sql);
+        }
+    }
+
     /**
      * 查询语句表名和字段带上引号（默认不加）
      *
@@ -509,21 +933,151 @@ public abstract class AbstractDatabaseConnector implements Database{
     }
 
     /**
-     * @param ps     参数构造器
-     * @param fields 同步字段，例如[{name=ID, type=4}, {name=NAME, type=12}]
-     * @param fSize  同步字段个数
-     * @param row    同步字段对应的值，例如{ID=123, NAME=张三11}
+     * 流式读取前设置连接（默认不设置）
+     * <p>每块数据写入目标源期间游标保持打开, 需要时延长数据库端的超时时间</p>
+     *
+     * @param connection
+     * @throws SQLException
+     */
+    protected void prepareStreamConnection(Connection connection) throws SQLException {
+    }
+
+    /**
+     * 是否使用多行插入语句批量写入（默认不使用）
+     *
+     * @return
+     */
+    protected boolean isMultiRowInsert() {
+        return false;
+    }
+
+    /**
+     * 多行插入单条语句最大行数
+     *
+     * @param fieldSize 字段个数
+     * @return
+     */
+    protected int getMultiRowInsertSize(int fieldSize) {
+        return 1;
+    }
+
+    /**
+     * 多行插入单条语句最大字节数
+     *
+     * @return
+     */
+    protected int getMultiRowInsertBytes() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 多行插入批量写入，按行数和字节数拆分为多条 INSERT ... VALUES (...),(...) 语句
+     *
+     * @param cfg
+     * @param insertSql 单行插入语句
+     * @param fields
+     * @param data
+     * @return
+     */
+    private Result multiRowWriter(DatabaseConfig cfg, String insertSql, List<Field> fields, List<Map<String, Object>> data) {
+        final int size = data.size();
+        final int fSize = fields.size();
+        final int maxRows = getMultiRowInsertSize(fSize);
+        final long maxBytes = getMultiRowInsertBytes();
+        final SqlBuilderInsert sqlBuilder = (SqlBuilderInsert) SqlBuilderEnum.INSERT.getSqlBuilder();
+        Result result = new Result();
+        final RowBinder binder;
+        try {
+            binder = new RowBinder(fields);
+        } catch (ConnectorException e) {
+            result.getFailData().addAll(data);
+            result.getFail().set(size);
+            result.getError().append(e.getMessage()).append("\r\n");
+            logger.error(e.getMessage());
+            return result;
+        }
+        JdbcTemplate jdbcTemplate = getJdbcTemplate(cfg);
+        final long begin = System.currentTimeMillis();
+        int statements = 0;
+        int from = 0;
+        while (from < size) {
+            // 1、按行数和字节数拆分
+            int to = from;
+            long bytes = insertSql.length();
+            while (to < size && to - from < maxRows) {
+                bytes += estimateRowBytes(fields, fSize, data.get(to));
+                if (to > from && bytes > maxBytes) {
+                    break;
+                }
+                to++;
+            }
+            final List<Map<String, Object>> rows = data.subList(from, to);
+            from = to;
+
+            // 2、写入, 失败时拆分重试, 只记录失败的行
+            statements += multiRowInsert(jdbcTemplate, sqlBuilder, insertSql, binder, fSize, rows, result);
+        }
+        if (logger.isDebugEnabled()) {
+            long elapsed = Math.max(1, System.currentTimeMillis() - begin);
+            logger.debug("多行插入:{}行, {}条语句, 失败{}行, 耗时{}ms, {}行/秒", size, statements, result.getFail().get(), elapsed, size * 1000L / elapsed);
+        }
+        return result;
+    }
+
+    /**
+     * 多行插入, 语句失败时二分拆分重试, 直到定位到失败的单行(连接异常时不再拆分)
+     *
+     * @return 执行的语句数
      */
-    private void batchRowsSetter(PreparedStatement ps, List<Field> fields, int fSize, Map<String, Object> row) {
-        Field f = null;
-        int type;
-        Object val = null;
+    private int multiRowInsert(JdbcTemplate jdbcTemplate, SqlBuilderInsert sqlBuilder, String insertSql, RowBinder binder, int fSize,
+                               List<Map<String, Object>> rows, Result result) {
+        try {
+            String sql = sqlBuilder.buildMultiRowSql(insertSql, rows.size());
+            jdbcTemplate.update(sql, (ps) -> {
+                int offset = 0;
+                for (Map<String, Object> row : rows) {
+                    binder.bind(ps, row, offset);
+                    offset += fSize;
+                }
+            });
+            return 1;
+        } catch (Exception e) {
+            if (1 == rows.size() || e instanceof DataAccessResourceFailureException) {
+                result.getFailData().addAll(rows);
+                result.getFail().getAndAdd(rows.size());
+                result.getError().append(e.getMessage()).append("\r\n");
+                logger.error(e.getMessage());
+                return 1;
+            }
+        }
+        final int half = rows.size() / 2;
+        return 1 + multiRowInsert(jdbcTemplate, sqlBuilder, insertSql, binder, fSize, rows.subList(0, half), result)
+                + multiRowInsert(jdbcTemplate, sqlBuilder, insertSql, binder, fSize, rows.subList(half, rows.size()), result);
+    }
+
+    /**
+     * 估算一行数据写入语句的字节数
+     *
+     * @param fields
+     * @param fSize
+     * @param row
+     * @return
+     */
+    private long estimateRowBytes(List<Field> fields, int fSize, Map<String, Object> row) {
+        // (?, ?),
+        long bytes = fSize * 3L;
+        Object val;
         for (int i = 0; i < fSize; i++) {
-            // 取出字段和对应值
-            f = fields.get(i);
-            type = f.getType();
-            val = row.get(f.getName());
-            SetterEnum.getSetter(type).set(ps, i + 1, type, val);
+            val = row.get(fields.get(i).getName());
+            if (val instanceof CharSequence) {
+                // utf8最多3个字节, 含转义
+                bytes += ((CharSequence) val).length() * 3L + 2;
+            } else if (val instanceof byte[]) {
+                bytes += ((byte[]) val).length * 2L + 10;
+            } else {
+                bytes += 24;
+            }
         }
+        return bytes;
     }
 }
@@ -15,6 +15,8 @@
  */
 package io.mykit.data.connector.database;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -47,4 +49,23 @@ public abstract class AbstractSetter implements Setter{
         }
     }
 
+    /**
+     * 转换为精确数值, 浮点数按其十进制字符串转换, 不丢失小数
+     *
+     * @param val
+     * @return
+     */
+    protected BigDecimal toBigDecimal(Object val) {
+        if (val instanceof BigDecimal) {
+            return (BigDecimal) val;
+        }
+        if (val instanceof BigInteger) {
+            return new BigDecimal((BigInteger) val);
+        }
+        if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte) {
+            return BigDecimal.valueOf(((Number) val).longValue());
+        }
+        return new BigDecimal(String.valueOf(val).trim());
+    }
+
 }
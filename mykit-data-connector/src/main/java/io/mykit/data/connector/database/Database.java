@@ -31,11 +31,6 @@ public interface Database extends Connector {
      */
     JdbcTemplate getJdbcTemplate(DatabaseConfig config);
 
-    /**
-     * 关闭jdbc连接
-     */
-    void close(JdbcTemplate jdbcTemplate);
-
     /**
      * 获取分页SQL
      */
@@ -46,4 +41,14 @@ public interface Database extends Connector {
      */
     Object[] getPageArgs(int pageIndex, int pageSize);
 
+    /**
+     * 获取主键分页SQL（已按主键排序，限制返回条数，最后一个参数为页大小）
+     */
+    String getKeysetPageSql(String querySQL);
+
+    /**
+     * 获取流式读取的fetchSize
+     */
+    int getStreamFetchSize(int chunkSize);
+
 }
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database;
+
+import io.mykit.data.connector.config.Field;
+import io.mykit.data.connector.enums.SetterEnum;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 行参数绑定器，按字段顺序预先解析字段名、类型和设置器，写入时按下标直接绑定
+ */
+public final class RowBinder {
+
+    private final String[] names;
+
+    private final int[] types;
+
+    private final Setter[] setters;
+
+    public RowBinder(List<Field> fields) {
+        int size = fields.size();
+        this.names = new String[size];
+        this.types = new int[size];
+        this.setters = new Setter[size];
+        Field f;
+        for (int i = 0; i < size; i++) {
+            f = fields.get(i);
+            names[i] = f.getName();
+            types[i] = f.getType();
+            setters[i] = SetterEnum.getSetter(f.getType());
+        }
+    }
+
+    /**
+     * 绑定一行数据
+     *
+     * @param ps     参数构造器
+     * @param row    同步字段对应的值，例如{ID=123, NAME=张三11}
+     * @param offset 参数下标偏移（多行插入时为之前行的参数个数）
+     */
+    public void bind(PreparedStatement ps, Map<String, Object> row, int offset) {
+        for (int i = 0; i < names.length; i++) {
+            setters[i].set(ps, offset + i + 1, types[i], row.get(names[i]));
+        }
+    }
+
+    /**
+     * 字段个数
+     *
+     * @return
+     */
+    public int size() {
+        return names.length;
+    }
+}
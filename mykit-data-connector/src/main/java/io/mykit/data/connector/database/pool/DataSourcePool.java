@@ -0,0 +1,201 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database.pool;
+
+import io.mykit.data.connector.config.DatabaseConfig;
+import io.mykit.data.connector.constants.DatabaseConstants;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 连接器连接池注册中心，相同连接配置复用同一个连接池
+ */
+public final class DataSourcePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourcePool.class);
+
+    /**
+     * 连接池 <配置摘要, 连接池>
+     */
+    private static final Map<String, MonitoredDataSource> pool = new ConcurrentHashMap<>();
+
+    /**
+     * 移除后等待借出的连接归还再关闭的检查间隔(秒)
+     */
+    private static final long CLOSE_CHECK_SECONDS = 5L;
+
+    private static final ScheduledExecutorService closer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "DataSourcePool-closer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private DataSourcePool() {
+    }
+
+    /**
+     * 获取连接池，不存在则创建，连接池大小与配置不一致时调整
+     *
+     * @param config 数据库配置
+     * @return 连接池
+     */
+    public static DataSource getDataSource(DatabaseConfig config) {
+        Assert.notNull(config, "DatabaseConfig can not be null.");
+        MonitoredDataSource dataSource = pool.computeIfAbsent(getKey(config), k -> create(config));
+        resize(dataSource, config);
+        return dataSource;
+    }
+
+    /**
+     * 获取连接时才从注册中心取连接池, 适用于长期持有数据源的使用者(连接池被移除后自动使用新的连接池)
+     *
+     * @param config 数据库配置
+     * @return 数据源
+     */
+    public static DataSource getLazyDataSource(DatabaseConfig config) {
+        Assert.notNull(config, "DatabaseConfig can not be null.");
+        return new DelegatingDataSource() {
+            @Override
+            public DataSource getTargetDataSource() {
+                return getDataSource(config);
+            }
+        };
+    }
+
+    /**
+     * 移除连接池（连接器修改或删除时），运行中的任务归还借出的连接后再关闭
+     *
+     * @param config 数据库配置
+     */
+    public static void evict(DatabaseConfig config) {
+        if (null == config) {
+            return;
+        }
+        MonitoredDataSource dataSource = pool.remove(getKey(config));
+        if (null != dataSource) {
+            closer.schedule(() -> closeWhenIdle(dataSource), CLOSE_CHECK_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 关闭所有连接池（应用停止时）
+     */
+    public static void evictAll() {
+        pool.keySet().forEach(key -> close(pool.remove(key)));
+        closer.shutdownNow();
+    }
+
+    /**
+     * 获取连接池状态
+     *
+     * @return [{连接地址, 活跃连接, 空闲连接, ...}]
+     */
+    public static List<Map<String, Object>> getPoolInfo() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        pool.values().forEach(ds -> {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("连接地址", ds.getUrl());
+            info.put("帐号", ds.getUsername());
+            info.put("活跃连接", ds.getNumActive());
+            info.put("空闲连接", ds.getNumIdle());
+            info.put("最大连接", ds.getMaxActive());
+            info.put("累计获取", ds.getBorrowCount());
+            info.put("平均等待(ms)", ds.getAvgWaitMillis());
+            info.put("最长等待(ms)", ds.getMaxWaitMillis());
+            list.add(info);
+        });
+        return list;
+    }
+
+    private static String getKey(DatabaseConfig config) {
+        String key = new StringBuilder().append(config.getDriverClassName()).append("|").append(config.getUrl()).append("|")
+                .append(config.getUsername()).append("|").append(config.getPassword()).append("|").append(config.isBulkLoad()).toString();
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MonitoredDataSource create(DatabaseConfig config) {
+        MonitoredDataSource dataSource = new MonitoredDataSource();
+        dataSource.setDriverClassName(config.getDriverClassName());
+        dataSource.setUrl(config.getUrl());
+        dataSource.setUsername(config.getUsername());
+        dataSource.setPassword(config.getPassword());
+        dataSource.setMaxActive(config.getMaxActive());
+        dataSource.setMaxIdle(config.getMaxIdle());
+        dataSource.setMaxWait(config.getMaxWait());
+        // 空闲连接检测，避免复用被数据库关闭的连接
+        dataSource.setTestWhileIdle(true);
+        dataSource.setTimeBetweenEvictionRunsMillis(60000L);
+        dataSource.setMinEvictableIdleTimeMillis(300000L);
+        // 连接池长期共享, 分片读写、增量事务、DCN查询会长时间持有连接, 不自动回收借出的连接
+        dataSource.setRemoveAbandoned(false);
+        // Oracle每次网络往返预取的行数
+        if (StringUtils.equals(DatabaseConstants.ORACLE_DRIVER_CLASSNAME, config.getDriverClassName())) {
+            dataSource.addConnectionProperty("defaultRowPrefetch", DatabaseConstants.ORACLE_DEFAULT_ROW_PREFETCH);
+        }
+        // 批量导入需要驱动允许读取本地流(LOAD DATA LOCAL INFILE)
+        if (config.isBulkLoad()) {
+            dataSource.addConnectionProperty("allowLoadLocalInfile", "true");
+        }
+        logger.info("Create dataSource pool:{}", config.getUrl());
+        return dataSource;
+    }
+
+    private static void resize(MonitoredDataSource dataSource, DatabaseConfig config) {
+        if (dataSource.getMaxActive() != config.getMaxActive()) {
+            dataSource.setMaxActive(config.getMaxActive());
+        }
+        if (dataSource.getMaxIdle() != config.getMaxIdle()) {
+            dataSource.setMaxIdle(config.getMaxIdle());
+        }
+        if (dataSource.getMaxWait() != config.getMaxWait()) {
+            dataSource.setMaxWait(config.getMaxWait());
+        }
+    }
+
+    private static void closeWhenIdle(MonitoredDataSource dataSource) {
+        if (dataSource.getNumActive() > 0) {
+            closer.schedule(() -> closeWhenIdle(dataSource), CLOSE_CHECK_SECONDS, TimeUnit.SECONDS);
+            return;
+        }
+        close(dataSource);
+    }
+
+    private static void close(MonitoredDataSource dataSource) {
+        if (null != dataSource) {
+            try {
+                dataSource.close();
+                logger.info("Close dataSource pool:{}", dataSource.getUrl());
+            } catch (SQLException e) {
+                logger.error("Close dataSource pool failed: {}", e.getMessage());
+            }
+        }
+    }
+}
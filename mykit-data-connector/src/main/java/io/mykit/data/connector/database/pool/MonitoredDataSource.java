@@ -0,0 +1,80 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database.pool;
+
+import org.apache.commons.dbcp.BasicDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 记录获取连接等待时间的连接池
+ */
+public class MonitoredDataSource extends BasicDataSource {
+
+    /**
+     * 累计获取连接次数
+     */
+    private final AtomicLong borrowCount = new AtomicLong();
+
+    /**
+     * 累计等待时间(纳秒)
+     */
+    private final AtomicLong waitTime = new AtomicLong();
+
+    /**
+     * 最长等待时间(纳秒)
+     */
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final long begin = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            record(System.nanoTime() - begin);
+        }
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getAvgWaitMillis() {
+        long count = borrowCount.get();
+        return 0 == count ? 0 : TimeUnit.NANOSECONDS.toMillis(waitTime.get() / count);
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitTime.get());
+    }
+
+    private void record(long elapsed) {
+        borrowCount.incrementAndGet();
+        waitTime.addAndGet(elapsed);
+        long max;
+        while (elapsed > (max = maxWaitTime.get())) {
+            if (maxWaitTime.compareAndSet(max, elapsed)) {
+                break;
+            }
+        }
+    }
+}
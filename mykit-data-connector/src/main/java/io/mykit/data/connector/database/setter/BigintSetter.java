@@ -17,6 +17,7 @@ package io.mykit.data.connector.database.setter;
 
 import io.mykit.data.connector.database.AbstractSetter;
 
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -29,6 +30,20 @@ public class BigintSetter extends AbstractSetter {
 
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
-        ps.setLong(i, Long.parseLong(String.valueOf(val)));
+        if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte) {
+            ps.setLong(i, ((Number) val).longValue());
+            return;
+        }
+        if (val instanceof Boolean) {
+            ps.setLong(i, (Boolean) val ? 1L : 0L);
+            return;
+        }
+        BigDecimal d = toBigDecimal(val);
+        try {
+            ps.setLong(i, d.longValueExact());
+        } catch (ArithmeticException e) {
+            // 超出范围或存在小数时交由数据库校验, 避免截断或溢出
+            ps.setBigDecimal(i, d);
+        }
     }
 }
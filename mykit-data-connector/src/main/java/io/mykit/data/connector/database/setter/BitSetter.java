@@ -0,0 +1,57 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database.setter;
+
+import io.mykit.data.connector.database.AbstractSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.BitSet;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description BitSetter, BIT(n>1)的值为字节数组(高位在前)
+ */
+public class BitSetter extends AbstractSetter {
+
+    @Override
+    protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
+        if (val instanceof byte[]) {
+            ps.setBytes(i, (byte[]) val);
+            return;
+        }
+        if (val instanceof Boolean) {
+            ps.setBoolean(i, (Boolean) val);
+            return;
+        }
+        if (val instanceof Number) {
+            ps.setLong(i, ((Number) val).longValue());
+            return;
+        }
+        if (val instanceof BitSet) {
+            long[] words = ((BitSet) val).toLongArray();
+            ps.setLong(i, 0 == words.length ? 0L : words[0]);
+            return;
+        }
+        String s = String.valueOf(val).trim();
+        if ("true".equalsIgnoreCase(s) || "false".equalsIgnoreCase(s)) {
+            ps.setBoolean(i, Boolean.parseBoolean(s));
+            return;
+        }
+        ps.setLong(i, Long.parseLong(s));
+    }
+}
@@ -17,6 +17,7 @@ package io.mykit.data.connector.database.setter;
 
 import io.mykit.data.connector.database.AbstractSetter;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -28,6 +29,6 @@ import java.sql.SQLException;
 public class CharSetter extends AbstractSetter {
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
-        ps.setString(i, String.valueOf(val));
+        ps.setString(i, val instanceof byte[] ? new String((byte[]) val, StandardCharsets.UTF_8) : String.valueOf(val));
     }
 }
@@ -21,6 +21,7 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * @author binghe
@@ -28,8 +29,25 @@ import java.time.LocalDate;
  * @description DateSetter
  */
 public class DateSetter extends AbstractSetter {
+
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
+        if (val instanceof Date) {
+            ps.setDate(i, (Date) val);
+            return;
+        }
+        if (val instanceof java.util.Date) {
+            ps.setDate(i, new Date(((java.util.Date) val).getTime()));
+            return;
+        }
+        if (val instanceof LocalDate) {
+            ps.setDate(i, Date.valueOf((LocalDate) val));
+            return;
+        }
+        if (val instanceof LocalDateTime) {
+            ps.setDate(i, Date.valueOf(((LocalDateTime) val).toLocalDate()));
+            return;
+        }
         ps.setDate(i, Date.valueOf(LocalDate.parse(val + "")));
     }
 }
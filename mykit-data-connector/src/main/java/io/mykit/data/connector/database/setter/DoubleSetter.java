@@ -26,8 +26,13 @@ import java.sql.SQLException;
  * @description DoubleSetter
  */
 public class DoubleSetter extends AbstractSetter {
+
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
+        if (val instanceof Number) {
+            ps.setDouble(i, ((Number) val).doubleValue());
+            return;
+        }
         ps.setDouble(i, Double.parseDouble(String.valueOf(val)));
     }
 }
@@ -26,8 +26,13 @@ import java.sql.SQLException;
  * @description FloatSetter
  */
 public class FloatSetter extends AbstractSetter {
+
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
+        if (val instanceof Number) {
+            ps.setFloat(i, ((Number) val).floatValue());
+            return;
+        }
         ps.setFloat(i, Float.parseFloat(String.valueOf(val)));
     }
 }
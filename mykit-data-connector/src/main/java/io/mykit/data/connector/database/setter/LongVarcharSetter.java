@@ -17,6 +17,7 @@ package io.mykit.data.connector.database.setter;
 
 import io.mykit.data.connector.database.AbstractSetter;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -29,6 +30,6 @@ public class LongVarcharSetter extends AbstractSetter {
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
         // 当数据库为mysql,字段类型为text,如果值里面包含非数字类型转换会失败,为兼容采用Types.VARCHAR方式替换
-        ps.setString(i, String.valueOf(val));
+        ps.setString(i, val instanceof byte[] ? new String((byte[]) val, StandardCharsets.UTF_8) : String.valueOf(val));
     }
 }
@@ -17,6 +17,7 @@ package io.mykit.data.connector.database.setter;
 
 import io.mykit.data.connector.database.AbstractSetter;
 
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -26,8 +27,13 @@ import java.sql.SQLException;
  * @description NumericSetter
  */
 public class NumericSetter extends AbstractSetter {
+
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
-        ps.setInt(i, Integer.parseInt(String.valueOf(val)));
+        if (val instanceof Boolean) {
+            ps.setBigDecimal(i, (Boolean) val ? BigDecimal.ONE : BigDecimal.ZERO);
+            return;
+        }
+        ps.setBigDecimal(i, toBigDecimal(val));
     }
 }
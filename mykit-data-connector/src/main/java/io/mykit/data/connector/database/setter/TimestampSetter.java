@@ -20,6 +20,9 @@ import io.mykit.data.connector.database.AbstractSetter;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
 
 /**
  * @author binghe
@@ -30,6 +33,22 @@ public class TimestampSetter extends AbstractSetter {
 
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
+        if (val instanceof Timestamp) {
+            ps.setTimestamp(i, (Timestamp) val);
+            return;
+        }
+        if (val instanceof Date) {
+            ps.setTimestamp(i, new Timestamp(((Date) val).getTime()));
+            return;
+        }
+        if (val instanceof LocalDateTime) {
+            ps.setTimestamp(i, Timestamp.valueOf((LocalDateTime) val));
+            return;
+        }
+        if (val instanceof LocalDate) {
+            ps.setTimestamp(i, Timestamp.valueOf(((LocalDate) val).atStartOfDay()));
+            return;
+        }
         ps.setTimestamp(i, Timestamp.valueOf(String.valueOf(val)));
     }
 }
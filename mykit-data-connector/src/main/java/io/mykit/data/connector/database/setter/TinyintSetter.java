@@ -17,6 +17,7 @@ package io.mykit.data.connector.database.setter;
 
 import io.mykit.data.connector.database.AbstractSetter;
 
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -29,6 +30,20 @@ public class TinyintSetter extends AbstractSetter {
 
     @Override
     protected void set(PreparedStatement ps, int i, Object val) throws SQLException {
-        ps.setInt(i, Integer.parseInt(String.valueOf(val)));
+        if (val instanceof Integer || val instanceof Short || val instanceof Byte) {
+            ps.setInt(i, ((Number) val).intValue());
+            return;
+        }
+        if (val instanceof Boolean) {
+            ps.setInt(i, (Boolean) val ? 1 : 0);
+            return;
+        }
+        BigDecimal d = toBigDecimal(val);
+        try {
+            ps.setInt(i, d.intValueExact());
+        } catch (ArithmeticException e) {
+            // 超出范围或存在小数时交由数据库校验, 避免截断或溢出
+            ps.setBigDecimal(i, d);
+        }
     }
 }
@@ -18,6 +18,8 @@ package io.mykit.data.connector.database.sqlbuilder;
 import io.mykit.data.connector.database.Database;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author binghe
@@ -25,6 +27,17 @@ import java.util.List;
  * @description 生成sql语句
  */
 public class SqlBuilderInsert implements SqlBuilder {
+
+    /**
+     * 缓存的插入语句上限，超过后清空重建
+     */
+    private static final int MULTI_ROW_SQL_CACHE_SIZE = 1024;
+
+    /**
+     * 多行插入语句缓存，key：单行插入语句（对应表和字段），value：行数 -> 多行插入语句
+     */
+    private final Map<String, Map<Integer, String>> multiRowSqlCache = new ConcurrentHashMap<>();
+
     @Override
     public String buildSql(String tableName, String pk, List<String> filedNames, String queryFilter, String quotation, Database database) {
         StringBuilder sql = new StringBuilder();
@@ -46,4 +59,30 @@ public class SqlBuilderInsert implements SqlBuilder {
         sql.insert(0, "INSERT INTO ").append(quotation).append(tableName).append(quotation).append("(").append(fs).append(") VALUES (").append(vs).append(")");
         return sql.toString();
     }
+
+    /**
+     * 生成多行插入语句
+     * <p>INSERT INTO USER(USERNAME, AGE) VALUES (?, ?),(?, ?)</p>
+     *
+     * @param insertSql 单行插入语句
+     * @param rowCount  行数
+     * @return 多行插入语句
+     */
+    public String buildMultiRowSql(String insertSql, int rowCount) {
+        if (rowCount <= 1) {
+            return insertSql;
+        }
+        if (multiRowSqlCache.size() > MULTI_ROW_SQL_CACHE_SIZE) {
+            multiRowSqlCache.clear();
+        }
+        return multiRowSqlCache.computeIfAbsent(insertSql, k -> new ConcurrentHashMap<>()).computeIfAbsent(rowCount, n -> {
+            // (?, ?)
+            String values = insertSql.substring(insertSql.lastIndexOf(" VALUES (") + 8);
+            StringBuilder sql = new StringBuilder(insertSql.length() + (values.length() + 1) * (n - 1)).append(insertSql);
+            for (int i = 1; i < n; i++) {
+                sql.append(",").append(values);
+            }
+            return sql.toString();
+        });
+    }
 }
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database.sqlbuilder;
+
+import io.mykit.data.connector.database.Database;
+import io.mykit.data.connector.exception.ConnectorException;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 生成流式查询语句（不分页），存在主键时按主键排序，便于中断后从最后的主键继续读取
+ */
+public class SqlBuilderQueryStream implements SqlBuilder {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * 是否从头读取（从头读取时没有主键条件）
+     */
+    protected final boolean begin;
+
+    /**
+     * 是否限制主键上界（按主键范围分片读取）
+     */
+    protected final boolean range;
+
+    public SqlBuilderQueryStream(boolean begin) {
+        this(begin, false);
+    }
+
+    public SqlBuilderQueryStream(boolean begin, boolean range) {
+        this.begin = begin;
+        this.range = range;
+    }
+
+    @Override
+    public String buildSql(String tableName, String pk, List<String> filedNames, String queryFilter, String quotation, Database database) {
+        boolean hasPk = StringUtils.isNotBlank(pk);
+        if (!begin && !hasPk) {
+            logger.error("Table primary key can not be empty.");
+            throw new ConnectorException("Table primary key can not be empty.");
+        }
+        // 读取主键值作为下一次读取的起点
+        List<String> fields = new ArrayList<>(filedNames);
+        if (hasPk && !fields.contains(pk)) {
+            fields.add(pk);
+        }
+
+        quotation = quotation.replace("\"", "");
+        StringBuilder sql = new StringBuilder("SELECT ");
+        int size = fields.size();
+        int end = size - 1;
+        for (int i = 0; i < size; i++) {
+            sql.append(quotation).append(fields.get(i)).append(quotation);
+            if (i < end) {
+                sql.append(", ");
+            }
+        }
+        sql.append(" FROM ").append(quotation).append(tableName).append(quotation);
+
+        // WHERE ((USER.AGE='20') OR (USER.TEL='18299996666')) AND ID > ? [AND ID <= ?]
+        boolean hasFilter = StringUtils.isNotBlank(queryFilter);
+        if (hasFilter) {
+            String condition = StringUtils.substringAfter(queryFilter, "WHERE ").trim();
+            sql.append(" WHERE (").append(condition).append(")");
+        }
+        if (!begin) {
+            sql.append(hasFilter ? " AND " : " WHERE ").append(quotation).append(pk).append(quotation).append(" > ?");
+            if (range) {
+                sql.append(" AND ").append(quotation).append(pk).append(quotation).append(" <= ?");
+            }
+        }
+        if (hasPk) {
+            sql.append(" ORDER BY ").append(quotation).append(pk).append(quotation);
+        }
+        logger.debug("拼接的流式查询语句===>>> " + sql);
+        return sql.toString();
+    }
+}
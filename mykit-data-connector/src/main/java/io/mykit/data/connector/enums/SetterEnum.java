@@ -20,6 +20,8 @@ import io.mykit.data.connector.database.setter.*;
 import io.mykit.data.connector.exception.ConnectorException;
 
 import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author binghe
@@ -28,7 +30,7 @@ import java.sql.Types;
  */
 public enum SetterEnum {
 
-    // 常用类型(靠前，减少查找次数)
+    // 常用类型
     VARCHAR(Types.VARCHAR, new VarcharSetter()),
     INTEGER(Types.INTEGER, new IntegerSetter()),
     BIGINT(Types.BIGINT, new BigintSetter()),
@@ -39,12 +41,34 @@ public enum SetterEnum {
     CHAR(Types.CHAR, new CharSetter()),
     LONGVARCHAR(Types.LONGVARCHAR, new LongVarcharSetter()),
     NUMERIC(Types.NUMERIC, new NumericSetter()),
+    DECIMAL(Types.DECIMAL, new NumericSetter()),
+    NVARCHAR(Types.NVARCHAR, new VarcharSetter()),
+    NCHAR(Types.NCHAR, new CharSetter()),
+    LONGNVARCHAR(Types.LONGNVARCHAR, new LongVarcharSetter()),
 
     // 很少使用
+    SMALLINT(Types.SMALLINT, new IntegerSetter()),
     TINYINT(Types.TINYINT, new TinyintSetter()),
     DOUBLE(Types.DOUBLE, new DoubleSetter()),
     FLOAT(Types.FLOAT, new FloatSetter()),
-    REAL(Types.REAL, new RealSetter());
+    REAL(Types.REAL, new RealSetter()),
+    BIT(Types.BIT, new BitSetter()),
+    BOOLEAN(Types.BOOLEAN, new BooleanSetter()),
+    BINARY(Types.BINARY, new BinarySetter()),
+    VARBINARY(Types.VARBINARY, new BinarySetter()),
+    LONGVARBINARY(Types.LONGVARBINARY, new BinarySetter()),
+    BLOB(Types.BLOB, new BinarySetter());
+
+    /**
+     * 按类型索引，避免逐个查找
+     */
+    private static final Map<Integer, Setter> SETTERS = new HashMap<>();
+
+    static {
+        for (SetterEnum e : SetterEnum.values()) {
+            SETTERS.put(e.getType(), e.getSetter());
+        }
+    }
 
     private int type;
 
@@ -56,10 +80,9 @@ public enum SetterEnum {
     }
 
     public static Setter getSetter(int type) throws ConnectorException {
-        for (SetterEnum e : SetterEnum.values()) {
-            if (e.getType() == type) {
-                return e.getSetter();
-            }
+        Setter setter = SETTERS.get(type);
+        if (null != setter) {
+            return setter;
         }
         throw new ConnectorException(String.format("Setter type \"%s\" does not exist.", type));
     }
@@ -41,7 +41,27 @@ public enum SqlBuilderEnum {
     /**
      * 查询SQL生成器
      */
-    QUERY(ConnectorConstants.OPERTION_QUERY, new SqlBuilderQuery());
+    QUERY(ConnectorConstants.OPERTION_QUERY, new SqlBuilderQuery()),
+    /**
+     * 主键分页查询SQL生成器(首页)
+     */
+    QUERY_KEYSET_BEGIN(ConnectorConstants.OPERTION_QUERY_KEYSET_BEGIN, new SqlBuilderQueryKeyset(true)),
+    /**
+     * 主键分页查询SQL生成器
+     */
+    QUERY_KEYSET(ConnectorConstants.OPERTION_QUERY_KEYSET, new SqlBuilderQueryKeyset(false)),
+    /**
+     * 流式查询SQL生成器(从头读取)
+     */
+    QUERY_STREAM(ConnectorConstants.OPERTION_QUERY_STREAM, new SqlBuilderQueryStream(true)),
+    /**
+     * 流式查询SQL生成器(从上一次读取的主键继续)
+     */
+    QUERY_STREAM_KEYSET(ConnectorConstants.OPERTION_QUERY_STREAM_KEYSET, new SqlBuilderQueryStream(false)),
+    /**
+     * 流式查询SQL生成器(读取主键范围)
+     */
+    QUERY_STREAM_RANGE(ConnectorConstants.OPERTION_QUERY_STREAM_RANGE, new SqlBuilderQueryStream(false, true));
 
     // SQL构造器名称
     private String name;
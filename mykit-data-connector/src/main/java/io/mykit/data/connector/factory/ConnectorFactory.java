@@ -17,17 +17,22 @@ package io.mykit.data.connector.factory;
 
 import io.mykit.data.common.model.Result;
 import io.mykit.data.connector.Connector;
+import io.mykit.data.connector.ReaderHandler;
 import io.mykit.data.connector.config.CommandConfig;
 import io.mykit.data.connector.config.ConnectorConfig;
 import io.mykit.data.connector.config.Field;
 import io.mykit.data.connector.config.MetaInfo;
+import io.mykit.data.connector.database.pool.DataSourcePool;
 import io.mykit.data.connector.enums.ConnectorEnum;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author binghe
@@ -35,7 +40,24 @@ import java.util.Map;
  * @description 连接器工厂类
  */
 @Component
-public class ConnectorFactory {
+public class ConnectorFactory implements DisposableBean {
+
+    /**
+     * 表元信息缓存有效期(毫秒)
+     */
+    private static final long META_INFO_EXPIRE_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * 表元信息缓存 <连接器配置, <表名, 元信息>>
+     */
+    private final Map<ConnectorConfig, Map<String, CachedMetaInfo>> metaInfoCache = new ConcurrentHashMap<>();
+
+    @Override
+    public void destroy() {
+        // 关闭所有连接池
+        DataSourcePool.evictAll();
+    }
+
     /**
      * 检查连接配置是否可用
      */
@@ -45,6 +67,23 @@ public class ConnectorFactory {
         return getConnector(type).isAlive(config);
     }
 
+    /**
+     * 断开连接（释放连接池）
+     */
+    public void disconnect(ConnectorConfig config) {
+        if (null != config) {
+            metaInfoCache.remove(config);
+            getConnector(config.getConnectorType()).disconnect(config);
+        }
+    }
+
+    /**
+     * 获取连接池状态
+     */
+    public List<Map<String, Object>> getPoolInfo() {
+        return DataSourcePool.getPoolInfo();
+    }
+
     /**
      * 获取配置表
      */
@@ -60,8 +99,21 @@ public class ConnectorFactory {
     public MetaInfo getMetaInfo(ConnectorConfig config, String tableName) {
         Assert.notNull(config, "ConnectorConfig can not be null.");
         Assert.hasText(tableName, "tableName can not be empty.");
-        String type = config.getConnectorType();
-        return getConnector(type).getMetaInfo(config, tableName);
+        Map<String, CachedMetaInfo> tables = metaInfoCache.computeIfAbsent(config, k -> new ConcurrentHashMap<>());
+        CachedMetaInfo cached = tables.get(tableName);
+        long now = System.currentTimeMillis();
+        if (null == cached || cached.expireTime < now) {
+            String type = config.getConnectorType();
+            MetaInfo metaInfo = getConnector(type).getMetaInfo(config, tableName);
+            if (null == metaInfo) {
+                tables.remove(tableName);
+                return null;
+            }
+            cached = new CachedMetaInfo(metaInfo, now + META_INFO_EXPIRE_MILLIS);
+            tables.put(tableName, cached);
+        }
+        // 返回副本, 调用方会修改字段
+        return copy(cached.metaInfo);
     }
 
     /**
@@ -86,6 +138,14 @@ public class ConnectorFactory {
         return connector.getCount(config, command);
     }
 
+    /**
+     * 获取总数(估算或精确)
+     */
+    public long getCount(ConnectorConfig config, Map<String, String> command, boolean estimate) {
+        Connector connector = getConnector(config.getConnectorType());
+        return connector.getCount(config, command, estimate);
+    }
+
     public Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, int pageIndex, int pageSize) {
         Connector connector = getConnector(config.getConnectorType());
         Result result = connector.reader(config, command, args, pageIndex, pageSize);
@@ -93,6 +153,38 @@ public class ConnectorFactory {
         return result;
     }
 
+    public Result reader(ConnectorConfig config, Map<String, String> command, Object lastKey, int pageSize) {
+        Connector connector = getConnector(config.getConnectorType());
+        Result result = connector.reader(config, command, lastKey, pageSize);
+        Assert.notNull(result, "Connector reader result can not null");
+        return result;
+    }
+
+    public Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, String watermarkField, String keyField, Object lastValue, Object lastKey, int pageSize) {
+        Connector connector = getConnector(config.getConnectorType());
+        Result result = connector.reader(config, command, args, watermarkField, keyField, lastValue, lastKey, pageSize);
+        Assert.notNull(result, "Connector reader result can not null");
+        return result;
+    }
+
+    public void reader(ConnectorConfig config, Map<String, String> command, Object lastKey, int chunkSize, ReaderHandler handler) {
+        Connector connector = getConnector(config.getConnectorType());
+        connector.reader(config, command, lastKey, chunkSize, handler);
+    }
+
+    public void reader(ConnectorConfig config, Map<String, String> command, Object lastKey, Object endKey, int chunkSize, ReaderHandler handler) {
+        Connector connector = getConnector(config.getConnectorType());
+        connector.reader(config, command, lastKey, endKey, chunkSize, handler);
+    }
+
+    /**
+     * 获取主键范围
+     */
+    public Object[] getKeyRange(ConnectorConfig config, Map<String, String> command) {
+        Connector connector = getConnector(config.getConnectorType());
+        return connector.getKeyRange(config, command);
+    }
+
     public Result writer(ConnectorConfig config, Map<String, String> command, List<Field> fields, List<Map<String, Object>> data) {
         Connector connector = getConnector(config.getConnectorType());
         Result result = connector.writer(config, command, fields, data);
@@ -107,6 +199,18 @@ public class ConnectorFactory {
         return result;
     }
 
+    public Result writer(ConnectorConfig config, List<Field> fields, Map<String, String> command, String event, List<Map<String, Object>> data) {
+        Connector connector = getConnector(config.getConnectorType());
+        Result result = connector.writer(config, fields, command, event, data);
+        Assert.notNull(result, "Connector writer result can not null");
+        return result;
+    }
+
+    public void transaction(ConnectorConfig config, Runnable runnable) {
+        Connector connector = getConnector(config.getConnectorType());
+        connector.transaction(config, runnable);
+    }
+
     /**
      * 获取连接器
      */
@@ -115,4 +219,20 @@ public class ConnectorFactory {
         Assert.hasText(connectorType, "ConnectorType can not be empty.");
         return ConnectorEnum.getConnector(connectorType);
     }
+
+    private MetaInfo copy(MetaInfo metaInfo) {
+        List<Field> column = new ArrayList<>(metaInfo.getColumn().size());
+        metaInfo.getColumn().forEach(f -> column.add(new Field(f.getName(), f.getTypeName(), f.getType(), f.isPk())));
+        return new MetaInfo(column, metaInfo.getCount());
+    }
+
+    private static final class CachedMetaInfo {
+        private final MetaInfo metaInfo;
+        private final long expireTime;
+
+        CachedMetaInfo(MetaInfo metaInfo, long expireTime) {
+            this.metaInfo = metaInfo;
+            this.expireTime = expireTime;
+        }
+    }
 }
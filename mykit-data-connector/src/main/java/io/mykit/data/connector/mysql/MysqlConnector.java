@@ -15,9 +15,39 @@
  */
 package io.mykit.data.connector.mysql;
 
-import io.mykit.data.connector.config.DatabaseConfig;
+import org.springframework.jdbc.core.JdbcTemplate;
+import io.mykit.data.connector.utils.DatabaseUtils;
+import io.mykit.data.common.model.Result;
+import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.config.*;
+import io.mykit.data.connector.constants.ConnectorConstants;
 import io.mykit.data.connector.constants.DatabaseConstants;
 import io.mykit.data.connector.database.AbstractDatabaseConnector;
+import io.mykit.data.connector.utils.JDBCUtils;
+import org.apache.commons.dbcp.DelegatingStatement;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author binghe
@@ -26,11 +56,34 @@ import io.mykit.data.connector.database.AbstractDatabaseConnector;
  */
 public final class MysqlConnector extends AbstractDatabaseConnector {
 
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
     @Override
     protected String getQueryTablesSql(DatabaseConfig config) {
         return "show tables";
     }
 
+    @Override
+    protected String getTableRowsSql(String tableName) {
+        return String.format("SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '%s'", tableName);
+    }
+
+    @Override
+    protected String getEstimateCountSql(String tableName, String querySql, boolean hasFilter) {
+        // 没有过滤条件时使用表统计信息, 否则使用执行计划
+        return !hasFilter && StringUtils.isNotBlank(tableName) ? getTableRowsSql(tableName) : DatabaseConstants.MYSQL_EXPLAIN + querySql;
+    }
+
+    @Override
+    protected long queryEstimateCount(JdbcTemplate jdbcTemplate, String sql) {
+        if (StringUtils.startsWith(sql, DatabaseConstants.MYSQL_EXPLAIN)) {
+            return DatabaseUtils.getMysqlExplainRows(jdbcTemplate, sql);
+        }
+        return super.queryEstimateCount(jdbcTemplate, sql);
+    }
+
     @Override
     public String getPageSql(String tableName, String pk, String querySQL) {
         // Mysql 分页查询
@@ -41,4 +94,301 @@ public final class MysqlConnector extends AbstractDatabaseConnector {
     public Object[] getPageArgs(int pageIndex, int pageSize) {
         return new Object[]{(pageIndex - 1) * pageSize, pageSize};
     }
+
+    @Override
+    public String getKeysetPageSql(String querySQL) {
+        // Mysql 主键分页查询
+        return new StringBuilder().append(querySQL).append(DatabaseConstants.MYSQL_KEYSET_PAGE_SQL).toString();
+    }
+
+    @Override
+    public int getStreamFetchSize(int chunkSize) {
+        // Mysql 逐行流式读取, 不缓存整个结果集
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    protected void prepareStreamConnection(Connection connection) throws SQLException {
+        // 驱动在流式查询前设置会话的net_write_timeout
+        connection.unwrap(com.mysql.jdbc.Connection.class).setNetTimeoutForStreamingResults(DatabaseConstants.MYSQL_STREAM_NET_WRITE_TIMEOUT);
+    }
+
+    @Override
+    protected boolean isMultiRowInsert() {
+        return true;
+    }
+
+    @Override
+    protected int getMultiRowInsertSize(int fieldSize) {
+        return Math.max(1, Math.min(DatabaseConstants.MYSQL_MULTI_ROW_INSERT_MAX_ROWS, DatabaseConstants.MYSQL_MAX_PARAMS / fieldSize));
+    }
+
+    @Override
+    protected int getMultiRowInsertBytes() {
+        return DatabaseConstants.MYSQL_MULTI_ROW_INSERT_MAX_BYTES;
+    }
+
+    @Override
+    public Map<String, String> getTargetCommand(CommandConfig commandConfig) {
+        Map<String, String> map = super.getTargetCommand(commandConfig);
+        map.put(ConnectorConstants.OPERTION_LOAD, buildLoadSql(commandConfig.getTable()));
+        return map;
+    }
+
+    @Override
+    public Result writer(ConnectorConfig config, Map<String, String> command, List<Field> fields, List<Map<String, Object>> data) {
+        String loadSql = command.get(ConnectorConstants.OPERTION_LOAD);
+        if (!((DatabaseConfig) config).isBulkLoad() || StringUtils.isBlank(loadSql) || CollectionUtils.isEmpty(fields)
+                || CollectionUtils.isEmpty(data)) {
+            return super.writer(config, command, fields, data);
+        }
+
+        try {
+            if (load((DatabaseConfig) config, loadSql, fields, data)) {
+                return new Result();
+            }
+        } catch (Exception e) {
+            logger.warn("批量导入失败, 改为逐行写入:{}", e.getMessage());
+        }
+
+        // 导入已回滚, 逐行写入以定位失败数据
+        Result result = new Result();
+        for (Map<String, Object> row : data) {
+            Result r = super.writer(config, command, fields, Collections.singletonList(row));
+            result.getFailData().addAll(r.getFailData());
+            result.getFail().getAndAdd(r.getFail().get());
+            result.getError().append(r.getError());
+        }
+        return result;
+    }
+
+    /**
+     * 生成批量导入语句，二进制字段以十六进制导入，BIT字段以无符号整数导入
+     * <p>LOAD DATA LOCAL INFILE 'mykit-data' INTO TABLE USER ... (ID, @v1, @v2) SET PHOTO = UNHEX(@v1), FLAGS = CAST(@v2 AS UNSIGNED)</p>
+     *
+     * @param table
+     * @return
+     */
+    private String buildLoadSql(Table table) {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder set = new StringBuilder();
+        List<String> names = new ArrayList<>();
+        for (Field f : table.getColumn()) {
+            String name = f.getName();
+            if (StringUtils.isBlank(name) || names.contains(name)) {
+                continue;
+            }
+            names.add(name);
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            if (isBinary(f.getType())) {
+                String var = "@v" + names.size();
+                columns.append(var);
+                set.append(set.length() > 0 ? ", " : " SET ").append(name).append(" = UNHEX(").append(var).append(")");
+            } else if (Types.BIT == f.getType()) {
+                String var = "@v" + names.size();
+                columns.append(var);
+                set.append(set.length() > 0 ? ", " : " SET ").append(name).append(" = CAST(").append(var).append(" AS UNSIGNED)");
+            } else {
+                columns.append(name);
+            }
+        }
+        return new StringBuilder(String.format(DatabaseConstants.MYSQL_LOAD_SQL, table.getName())).append(" (").append(columns).append(")")
+                .append(set).toString();
+    }
+
+    /**
+     * 批量导入
+     * <p>LOCAL导入时重复数据被跳过、数据转换错误只产生警告, 导入行数不足或存在警告时回滚</p>
+     *
+     * @param config
+     * @param loadSql
+     * @param fields
+     * @param data
+     * @return 是否全部导入
+     */
+    private boolean load(DatabaseConfig config, String loadSql, List<Field> fields, List<Map<String, Object>> data) {
+        final byte[] bytes = toLoadData(fields, data);
+        return getJdbcTemplate(config).execute((ConnectionCallback<Boolean>) conn -> {
+            // 已在事务中时回滚到保存点, 否则在独立事务中导入
+            final boolean autoCommit = conn.getAutoCommit();
+            final Savepoint savepoint = autoCommit ? null : conn.setSavepoint();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+            boolean loaded = false;
+            Statement statement = null;
+            try {
+                statement = conn.createStatement();
+                // 使用驱动原生Statement设置导入流
+                Statement delegate = statement instanceof DelegatingStatement ? ((DelegatingStatement) statement).getInnermostDelegate() : statement;
+                ((com.mysql.jdbc.Statement) delegate).setLocalInfileInputStream(new ByteArrayInputStream(bytes));
+                int count = statement.executeUpdate(loadSql);
+                SQLWarning warning = getWarning(statement.getWarnings(), fields);
+                loaded = count == data.size() && null == warning;
+                if (!loaded) {
+                    logger.warn("批量导入不完整, 回滚后逐行写入:{}/{}, {}", count, data.size(), null != warning ? warning.getMessage() : "");
+                }
+                return loaded;
+            } finally {
+                JDBCUtils.close(statement);
+                try {
+                    if (!autoCommit) {
+                        if (loaded) {
+                            conn.releaseSavepoint(savepoint);
+                        } else {
+                            conn.rollback(savepoint);
+                        }
+                    } else if (loaded) {
+                        conn.commit();
+                    } else {
+                        conn.rollback();
+                    }
+                } finally {
+                    if (autoCommit) {
+                        conn.setAutoCommit(true);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 获取第一个需要逐行写入的警告, 忽略BIT字段的转换警告(BIT字段按整数导入)
+     *
+     * @param warning
+     * @param fields
+     * @return
+     */
+    private SQLWarning getWarning(SQLWarning warning, List<Field> fields) {
+        List<String> bitColumns = new ArrayList<>();
+        fields.stream().filter(f -> Types.BIT == f.getType()).forEach(f -> bitColumns.add("'" + f.getName().toLowerCase() + "'"));
+        for (SQLWarning w = warning; null != w; w = w.getNextWarning()) {
+            final String message = StringUtils.lowerCase(w.getMessage());
+            if (!bitColumns.stream().anyMatch(c -> StringUtils.contains(message, "column " + c))) {
+                return w;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将数据转换为制表符分隔的导入内容
+     *
+     * @param fields
+     * @param data
+     * @return
+     */
+    private byte[] toLoadData(List<Field> fields, List<Map<String, Object>> data) {
+        final int fSize = fields.size();
+        StringBuilder buf = new StringBuilder(data.size() * fSize * 16);
+        Field f;
+        for (Map<String, Object> row : data) {
+            for (int i = 0; i < fSize; i++) {
+                if (i > 0) {
+                    buf.append('\t');
+                }
+                f = fields.get(i);
+                appendValue(buf, f.getType(), row.get(f.getName()));
+            }
+            buf.append('\n');
+        }
+        return buf.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendValue(StringBuilder buf, int type, Object val) {
+        if (null == val) {
+            buf.append("\\N");
+            return;
+        }
+        if (isBinary(type)) {
+            byte[] b = val instanceof byte[] ? (byte[]) val : String.valueOf(val).getBytes(StandardCharsets.UTF_8);
+            for (byte v : b) {
+                buf.append(HEX[(v >> 4) & 0x0F]).append(HEX[v & 0x0F]);
+            }
+            return;
+        }
+        if (Types.BIT == type) {
+            appendBit(buf, val);
+            return;
+        }
+        if (val instanceof Boolean) {
+            buf.append((Boolean) val ? '1' : '0');
+            return;
+        }
+        if (val instanceof BigDecimal) {
+            buf.append(((BigDecimal) val).toPlainString());
+            return;
+        }
+        if (val instanceof Number) {
+            buf.append(val);
+            return;
+        }
+        String s;
+        if (val instanceof java.sql.Date || val instanceof java.sql.Time || val instanceof Timestamp) {
+            s = val.toString();
+        } else if (val instanceof Date) {
+            s = new Timestamp(((Date) val).getTime()).toString();
+        } else if (val instanceof TemporalAccessor) {
+            s = val.toString().replace('T', ' ');
+        } else if (val instanceof byte[]) {
+            s = new String((byte[]) val, StandardCharsets.UTF_8);
+        } else {
+            s = String.valueOf(val);
+        }
+        escape(buf, s);
+    }
+
+    private void escape(StringBuilder buf, String s) {
+        char c;
+        for (int i = 0; i < s.length(); i++) {
+            c = s.charAt(i);
+            switch (c) {
+                case '\\':
+                    buf.append("\\\\");
+                    break;
+                case '\t':
+                    buf.append("\\t");
+                    break;
+                case '\n':
+                    buf.append("\\n");
+                    break;
+                case '\r':
+                    buf.append("\\r");
+                    break;
+                case '\0':
+                    buf.append("\\0");
+                    break;
+                default:
+                    buf.append(c);
+            }
+        }
+    }
+
+    /**
+     * BIT字段转换为无符号整数(字节数组高位在前)
+     *
+     * @param buf
+     * @param val
+     */
+    private void appendBit(StringBuilder buf, Object val) {
+        if (val instanceof byte[]) {
+            buf.append(new BigInteger(1, (byte[]) val));
+        } else if (val instanceof Boolean) {
+            buf.append((Boolean) val ? '1' : '0');
+        } else if (val instanceof BitSet) {
+            long[] words = ((BitSet) val).toLongArray();
+            buf.append(0 == words.length ? 0L : words[0]);
+        } else if (val instanceof Number) {
+            buf.append(((Number) val).longValue());
+        } else {
+            String s = String.valueOf(val).trim();
+            buf.append("true".equalsIgnoreCase(s) ? "1" : "false".equalsIgnoreCase(s) ? "0" : s);
+        }
+    }
+
+    private boolean isBinary(int type) {
+        return Types.BINARY == type || Types.VARBINARY == type || Types.LONGVARBINARY == type || Types.BLOB == type;
+    }
 }
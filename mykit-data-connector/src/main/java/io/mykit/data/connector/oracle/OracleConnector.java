@@ -15,9 +15,21 @@
  */
 package io.mykit.data.connector.oracle;
 
-import io.mykit.data.connector.config.DatabaseConfig;
+import org.springframework.jdbc.core.JdbcTemplate;
+import io.mykit.data.connector.utils.DatabaseUtils;
+import io.mykit.data.common.model.Result;
+import io.mykit.data.connector.config.*;
+import io.mykit.data.connector.constants.ConnectorConstants;
 import io.mykit.data.connector.constants.DatabaseConstants;
 import io.mykit.data.connector.database.AbstractDatabaseConnector;
+import io.mykit.data.connector.enums.SqlBuilderEnum;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author binghe
@@ -26,12 +38,33 @@ import io.mykit.data.connector.database.AbstractDatabaseConnector;
  */
 public class OracleConnector extends AbstractDatabaseConnector {
 
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
     @Override
     protected String getQueryTablesSql(DatabaseConfig config) {
         // "SELECT TABLE_NAME FROM ALL_TABLES WHERE OWNER='AE86'"
         return String.format("SELECT TABLE_NAME FROM ALL_TABLES WHERE OWNER='%s'", config.getUsername()).toUpperCase();
     }
 
+    @Override
+    protected String getTableRowsSql(String tableName) {
+        return String.format("SELECT NUM_ROWS FROM USER_TABLES WHERE TABLE_NAME = '%s'", tableName);
+    }
+
+    @Override
+    protected String getEstimateCountSql(String tableName, String querySql, boolean hasFilter) {
+        // 没有过滤条件时使用表统计信息, 否则使用执行计划
+        return !hasFilter && StringUtils.isNotBlank(tableName) ? getTableRowsSql(tableName) : DatabaseConstants.ORACLE_EXPLAIN + querySql;
+    }
+
+    @Override
+    protected long queryEstimateCount(JdbcTemplate jdbcTemplate, String sql) {
+        if (StringUtils.startsWith(sql, DatabaseConstants.ORACLE_EXPLAIN)) {
+            return DatabaseUtils.getOracleExplainRows(jdbcTemplate, StringUtils.substringAfter(sql, DatabaseConstants.ORACLE_EXPLAIN));
+        }
+        return super.queryEstimateCount(jdbcTemplate, sql);
+    }
+
     @Override
     public String getPageSql(String tableName, String pk, String querySQL) {
         // Oracle 分页查询
@@ -44,8 +77,73 @@ public class OracleConnector extends AbstractDatabaseConnector {
         return new Object[]{pageIndex * pageSize, (pageIndex - 1) * pageSize};
     }
 
+    @Override
+    public String getKeysetPageSql(String querySQL) {
+        // Oracle 主键分页查询
+        return new StringBuilder().append(DatabaseConstants.ORACLE_KEYSET_PAGE_SQL_START).append(querySQL).append(DatabaseConstants.ORACLE_KEYSET_PAGE_SQL_END).toString();
+    }
+
+    @Override
+    public int getStreamFetchSize(int chunkSize) {
+        // Oracle 每次网络往返读取的行数
+        return Math.min(chunkSize, DatabaseConstants.ORACLE_STREAM_MAX_FETCH_SIZE);
+    }
+
     @Override
     protected String buildSqlWithQuotation() {
         return "\"";
     }
+
+    @Override
+    public Map<String, String> getTargetCommand(CommandConfig commandConfig) {
+        Map<String, String> map = super.getTargetCommand(commandConfig);
+        String insert = map.get(SqlBuilderEnum.INSERT.getName());
+        map.put(ConnectorConstants.OPERTION_LOAD, DatabaseConstants.ORACLE_APPEND_VALUES_HINT + StringUtils.substringAfter(insert, "INSERT INTO "));
+        String quotation = buildSqlWithQuotation();
+        String queryExist = new StringBuilder().append("SELECT COUNT(1) FROM ").append(quotation).append(commandConfig.getTable().getName())
+                .append(quotation).append(" WHERE ROWNUM = 1").toString();
+        map.put(ConnectorConstants.OPERTION_QUERY_EXIST, queryExist);
+        return map;
+    }
+
+    @Override
+    public Result writer(ConnectorConfig config, Map<String, String> command, List<Field> fields, List<Map<String, Object>> data) {
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        String loadSql = command.get(ConnectorConstants.OPERTION_LOAD);
+        if (!cfg.isBulkLoad() || StringUtils.isBlank(loadSql) || !isDirectPath(cfg, command, loadSql)) {
+            return super.writer(config, command, fields, data);
+        }
+
+        // 直接路径插入: 数据写入高水位线之上, 不经过buffer cache
+        Map<String, String> cmd = new HashMap<>(command);
+        cmd.put(SqlBuilderEnum.INSERT.getName(), loadSql);
+        return super.writer(config, cmd, fields, data);
+    }
+
+    /**
+     * 本次全量同步首次写入时检查目标表是否为空, 仅空表使用直接路径插入
+     * <p>直接路径插入持有表级排它锁, 且每次提交都在高水位线之上分配新的数据块, 多线程或多分片写入时使用常规插入</p>
+     * <p>结果保存在本次任务的命令副本中, 任务结束后失效</p>
+     *
+     * @param cfg
+     * @param command
+     * @param loadSql
+     * @return
+     */
+    private boolean isDirectPath(DatabaseConfig cfg, Map<String, String> command, String loadSql) {
+        String queryExist = command.get(ConnectorConstants.OPERTION_QUERY_EXIST);
+        if (StringUtils.isBlank(queryExist) || !Boolean.parseBoolean(command.get(ConnectorConstants.OPERTION_SINGLE_WRITER))) {
+            return false;
+        }
+        String directPath = command.get(ConnectorConstants.OPERTION_DIRECT_PATH);
+        if (null == directPath) {
+            // 仅有一个写入线程, 无需加锁
+            Long count = getJdbcTemplate(cfg).queryForObject(queryExist, Long.class);
+            boolean empty = null == count || 0 == count;
+            logger.info("目标表{}, 直接路径插入:{}", empty ? "为空" : "存在数据", loadSql);
+            directPath = String.valueOf(empty);
+            command.put(ConnectorConstants.OPERTION_DIRECT_PATH, directPath);
+        }
+        return Boolean.parseBoolean(directPath);
+    }
 }
@@ -15,6 +15,9 @@
  */
 package io.mykit.data.connector.sql;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.apache.commons.lang.StringUtils;
+import io.mykit.data.connector.utils.DatabaseUtils;
 import io.mykit.data.connector.config.CommandConfig;
 import io.mykit.data.connector.config.ConnectorConfig;
 import io.mykit.data.connector.config.DatabaseConfig;
@@ -37,6 +40,16 @@ public class DQLMysqlConnector extends AbstractDatabaseConnector {
         return "show tables";
     }
 
+    @Override
+    protected String getEstimateCountSql(String tableName, String querySql, boolean hasFilter) {
+        return DatabaseConstants.MYSQL_EXPLAIN + querySql;
+    }
+
+    @Override
+    protected long queryEstimateCount(JdbcTemplate jdbcTemplate, String sql) {
+        return DatabaseUtils.getMysqlExplainRows(jdbcTemplate, sql);
+    }
+
     @Override
     public String getPageSql(String tableName, String pk, String querySQL) {
         // Mysql 分页查询
@@ -48,6 +61,16 @@ public class DQLMysqlConnector extends AbstractDatabaseConnector {
         return new Object[]{(pageIndex - 1) * pageSize, pageSize};
     }
 
+    @Override
+    public String getKeysetPageSql(String querySQL) {
+        return querySQL + DatabaseConstants.MYSQL_KEYSET_PAGE_SQL;
+    }
+
+    @Override
+    public int getStreamFetchSize(int chunkSize) {
+        return Integer.MIN_VALUE;
+    }
+
     @Override
     public List<String> getTable(ConnectorConfig config) {
         return super.getDqlTable(config);
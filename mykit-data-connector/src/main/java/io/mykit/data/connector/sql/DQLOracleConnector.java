@@ -15,6 +15,9 @@
  */
 package io.mykit.data.connector.sql;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.apache.commons.lang.StringUtils;
+import io.mykit.data.connector.utils.DatabaseUtils;
 import io.mykit.data.connector.config.CommandConfig;
 import io.mykit.data.connector.config.ConnectorConfig;
 import io.mykit.data.connector.config.DatabaseConfig;
@@ -37,6 +40,16 @@ public class DQLOracleConnector extends AbstractDatabaseConnector {
         return String.format("SELECT TABLE_NAME FROM ALL_TABLES WHERE OWNER='%s'", config.getUsername()).toUpperCase();
     }
 
+    @Override
+    protected String getEstimateCountSql(String tableName, String querySql, boolean hasFilter) {
+        return DatabaseConstants.ORACLE_EXPLAIN + querySql;
+    }
+
+    @Override
+    protected long queryEstimateCount(JdbcTemplate jdbcTemplate, String sql) {
+        return DatabaseUtils.getOracleExplainRows(jdbcTemplate, StringUtils.substringAfter(sql, DatabaseConstants.ORACLE_EXPLAIN));
+    }
+
     @Override
     public String getPageSql(String tableName, String pk, String querySQL) {
         // Oracle 分页查询
@@ -48,6 +61,16 @@ public class DQLOracleConnector extends AbstractDatabaseConnector {
         return new Object[]{pageIndex * pageSize, (pageIndex - 1) * pageSize};
     }
 
+    @Override
+    public String getKeysetPageSql(String querySQL) {
+        return DatabaseConstants.ORACLE_KEYSET_PAGE_SQL_START + querySQL + DatabaseConstants.ORACLE_KEYSET_PAGE_SQL_END;
+    }
+
+    @Override
+    public int getStreamFetchSize(int chunkSize) {
+        return Math.min(chunkSize, DatabaseConstants.ORACLE_STREAM_MAX_FETCH_SIZE);
+    }
+
     @Override
     public List<String> getTable(ConnectorConfig config) {
         return super.getDqlTable(config);
@@ -15,24 +15,22 @@
  */
 package io.mykit.data.connector.utils;
 
-import com.sun.rowset.CachedRowSetImpl;
 import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.config.Field;
 import io.mykit.data.connector.config.MetaInfo;
+import io.mykit.data.connector.database.pool.DataSourcePool;
 import io.mykit.data.connector.exception.ConnectorException;
-import org.apache.commons.dbcp.BasicDataSource;
 import org.apache.commons.lang.StringUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
-import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 
-import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -45,25 +43,14 @@ import java.util.Map;
  */
 public class DatabaseUtils {
 
+    /**
+     * 获取JdbcTemplate，连接由连接器共享的连接池管理，无需关闭
+     *
+     * @param config 数据库配置
+     * @return
+     */
     public static JdbcTemplate getJdbcTemplate(DatabaseConfig config) {
-        BasicDataSource dataSource = new BasicDataSource();
-        dataSource.setDriverClassName(config.getDriverClassName());
-        dataSource.setUrl(config.getUrl());
-        dataSource.setUsername(config.getUsername());
-        dataSource.setPassword(config.getPassword());
-        // 是否自动回收超时连接
-        dataSource.setRemoveAbandoned(true);
-        // 超时时间(以秒数为单位)
-        dataSource.setRemoveAbandonedTimeout(60);
-        return new JdbcTemplate(dataSource);
-    }
-
-    public static void close(JdbcTemplate jdbcTemplate) throws SQLException {
-        if (null != jdbcTemplate) {
-            DataSource dataSource = jdbcTemplate.getDataSource();
-            BasicDataSource ds = (BasicDataSource) dataSource;
-            ds.close();
-        }
+        return new JdbcTemplate(DataSourcePool.getDataSource(config));
     }
 
     public static void close(Connection connection) throws SQLException {
@@ -79,54 +66,109 @@ public class DatabaseUtils {
     }
 
     /**
-     * 获取数据库表元数据信息
+     * 获取数据库表元数据信息（只读取结果集元数据, 不读取数据）
      *
      * @param jdbcTemplate
-     * @param metaSql      查询元数据
+     * @param metaSql      查询元数据, 例如：select * from USER where 1=0
      * @param tableName    表名
+     * @param count        表总数（统计信息）
      * @return
      */
-    public static MetaInfo getMetaInfo(JdbcTemplate jdbcTemplate, String metaSql, String tableName) throws SQLException {
-        SqlRowSet sqlRowSet = jdbcTemplate.queryForRowSet(metaSql);
-        ResultSetWrappingSqlRowSet rowSet = (ResultSetWrappingSqlRowSet) sqlRowSet;
-        CachedRowSetImpl resultSet = (CachedRowSetImpl) rowSet.getResultSet();
-        SqlRowSetMetaData metaData = rowSet.getMetaData();
+    public static MetaInfo getMetaInfo(JdbcTemplate jdbcTemplate, String metaSql, String tableName, long count) {
+        List<Field> fields = jdbcTemplate.execute((ConnectionCallback<List<Field>>) connection -> {
+            Statement statement = null;
+            ResultSet rs = null;
+            try {
+                statement = connection.createStatement();
+                statement.setMaxRows(1);
+                rs = statement.executeQuery(metaSql);
+                ResultSetMetaData metaData = rs.getMetaData();
 
-        // 查询表字段信息
-        int columnCount = metaData.getColumnCount();
-        if (1 > columnCount) {
-            throw new ConnectorException("查询表字段不能为空.");
-        }
-        Connection connection = null;
-        List<Field> fields = new ArrayList<>(columnCount);
-        // <表名,[主键, ...]>
-        Map<String, List<String>> tables = new HashMap<>();
-        try {
-            connection = jdbcTemplate.getDataSource().getConnection();
-            DatabaseMetaData md = connection.getMetaData();
-            String name = null;
-            String label = null;
-            String typeName = null;
-            String table = null;
-            int columnType;
-            boolean pk;
-            for (int i = 1; i <= columnCount; i++) {
-                table = StringUtils.isNotBlank(tableName) ? tableName : metaData.getTableName(i);
-                if (null == tables.get(table)) {
-                    tables.putIfAbsent(table, findTablePrimaryKeys(md, table));
+                // 查询表字段信息
+                int columnCount = metaData.getColumnCount();
+                if (1 > columnCount) {
+                    throw new ConnectorException("查询表字段不能为空.");
                 }
-                name = metaData.getColumnName(i);
-                label = metaData.getColumnLabel(i);
-                typeName = metaData.getColumnTypeName(i);
-                columnType = metaData.getColumnType(i);
-                pk = isPk(tables, table, name);
-                fields.add(new Field(label, typeName, columnType, pk));
+                DatabaseMetaData md = connection.getMetaData();
+                List<Field> list = new ArrayList<>(columnCount);
+                // <表名,[主键, ...]>
+                Map<String, List<String>> tables = new HashMap<>();
+                String name = null;
+                String label = null;
+                String typeName = null;
+                String table = null;
+                int columnType;
+                boolean pk;
+                for (int i = 1; i <= columnCount; i++) {
+                    table = StringUtils.isNotBlank(tableName) ? tableName : metaData.getTableName(i);
+                    if (null == tables.get(table)) {
+                        tables.putIfAbsent(table, findTablePrimaryKeys(md, table));
+                    }
+                    name = metaData.getColumnName(i);
+                    label = metaData.getColumnLabel(i);
+                    typeName = metaData.getColumnTypeName(i);
+                    columnType = metaData.getColumnType(i);
+                    pk = isPk(tables, table, name);
+                    list.add(new Field(label, typeName, columnType, pk));
+                }
+                return list;
+            } finally {
+                close(rs);
+                JDBCUtils.close(statement);
             }
-        } finally {
-            tables.clear();
-            close(connection);
+        });
+        return new MetaInfo(fields, count);
+    }
+
+    /**
+     * 获取Mysql执行计划估算的行数
+     *
+     * @param jdbcTemplate
+     * @param explainSql   例如：EXPLAIN select * from USER WHERE (AGE > '20')
+     * @return
+     */
+    public static long getMysqlExplainRows(JdbcTemplate jdbcTemplate, String explainSql) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(explainSql);
+        if (CollectionUtils.isEmpty(plan)) {
+            return 0;
         }
-        return new MetaInfo(fields, resultSet.size());
+        // 驱动表的扫描行数 * 过滤比例(5.7+)
+        Map<String, Object> row = plan.get(0);
+        Object rows = row.get("rows");
+        Object filtered = row.get("filtered");
+        double estimate = rows instanceof Number ? ((Number) rows).doubleValue() : 0;
+        if (filtered instanceof Number) {
+            estimate = estimate * ((Number) filtered).doubleValue() / 100;
+        }
+        return (long) estimate;
+    }
+
+    /**
+     * 获取Oracle执行计划估算的行数
+     *
+     * @param jdbcTemplate
+     * @param querySql     例如：SELECT * FROM USER WHERE (AGE > '20')
+     * @return
+     */
+    public static long getOracleExplainRows(JdbcTemplate jdbcTemplate, String querySql) {
+        final String statementId = "MYKIT" + System.nanoTime();
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            Statement statement = null;
+            ResultSet rs = null;
+            try {
+                statement = connection.createStatement();
+                statement.execute(String.format("EXPLAIN PLAN SET STATEMENT_ID = '%s' FOR %s", statementId, querySql));
+                rs = statement.executeQuery(String.format("SELECT CARDINALITY FROM PLAN_TABLE WHERE STATEMENT_ID = '%s' AND ID = 0", statementId));
+                return rs.next() ? rs.getLong(1) : 0L;
+            } finally {
+                close(rs);
+                if (null != statement) {
+                    statement.execute(String.format("DELETE FROM PLAN_TABLE WHERE STATEMENT_ID = '%s'", statementId));
+                }
+                JDBCUtils.close(statement);
+            }
+        });
+        return null == rows ? 0 : rows;
     }
 
     private static boolean isPk(Map<String, List<String>> tables, String tableName, String name) {
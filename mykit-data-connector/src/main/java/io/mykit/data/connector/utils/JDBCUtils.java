@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -38,6 +39,16 @@ public class JDBCUtils {
         return DriverManager.getConnection(url, username, password);
     }
 
+    public static void close(ResultSet resultSet) {
+        if (resultSet != null) {
+            try {
+                resultSet.close();
+            } catch (SQLException e) {
+                logger.error(e.getClass() + " >> " + e.getLocalizedMessage());
+            }
+        }
+    }
+
     public static void close(Statement statement) {
         if (statement != null) {
             try {
@@ -38,6 +38,8 @@ public interface Manager extends Executor {
 
     boolean alive(ConnectorConfig config);
 
+    void disconnect(ConnectorConfig config);
+
     List<String> getTable(ConnectorConfig config);
 
     MetaInfo getMetaInfo(String connectorId, String tableName);
@@ -79,6 +81,8 @@ public interface Manager extends Executor {
 
     long getCount(String connectorId, Map<String, String> command);
 
+    long getCount(String connectorId, Map<String, String> command, boolean estimate);
+
     // Meta
     String addMeta(ConfigModel model);
 
@@ -16,15 +16,13 @@
 package io.mykit.data.manage.config;
 
 import io.mykit.data.common.utils.CollectionUtils;
-import io.mykit.data.connector.CompareFilter;
 import io.mykit.data.connector.config.Field;
 import io.mykit.data.connector.config.Filter;
-import io.mykit.data.connector.enums.FilterEnum;
-import io.mykit.data.connector.enums.OperationEnum;
+import io.mykit.data.monitor.filter.RowPredicate;
+import io.mykit.data.monitor.filter.impl.CompiledRowPredicate;
 import io.mykit.data.parser.model.DataEvent;
 import io.mykit.data.parser.model.FieldMapping;
 import io.mykit.data.parser.model.TableGroup;
-import org.apache.commons.lang.StringUtils;
 import org.springframework.util.Assert;
 
 import java.util.*;
@@ -40,9 +38,8 @@ public class FieldPicker {
     private TableGroup tableGroup;
     private List<Node> index;
     private int indexSize;
-    private boolean filterSwitch;
-    private List<Filter> add;
-    private List<Filter> or;
+    private RowPredicate predicate;
+    private String pkName;
 
     public FieldPicker(TableGroup tableGroup) {
         this.tableGroup = tableGroup;
@@ -57,7 +54,7 @@ public class FieldPicker {
         if (!CollectionUtils.isEmpty(list)) {
             Map<String, Object> data = new HashMap<>(indexSize);
             final int size = list.size() - 1;
-            index.parallelStream().forEach(node -> {
+            index.forEach(node -> {
                 if (node.i <= size) {
                     data.put(node.name, list.get(node.i));
                 }
@@ -71,56 +68,48 @@ public class FieldPicker {
         return tableGroup;
     }
 
+    /**
+     * 获取同步字段在数据源表中的序号
+     *
+     * @return
+     */
+    public BitSet getColumnIndexes() {
+        BitSet indexes = new BitSet();
+        index.forEach(node -> indexes.set(node.i));
+        return indexes;
+    }
+
+    /**
+     * 获取分区键(目标表 + 主键值), 同一行数据的变更得到相同的分区键
+     *
+     * @param data
+     * @return
+     */
+    public String getPartitionKey(DataEvent data) {
+        Object pk = null == pkName ? null : data.getData().get(pkName);
+        return tableGroup.getTargetTable().getName() + ":" + pk;
+    }
+
     /**
      * 根据过滤条件过滤
      * @param data
      * @return
      */
     public boolean filter(DataEvent data) {
-        if (!filterSwitch) {
-            return true;
-        }
-        final Map<String, Object> row = data.getData();
         // where (id > 1 and id < 100) or (id = 100 or id =101)
-        // 或 关系(成立任意条件)
-        CompareFilter filter = null;
-        Object value = null;
-        for (Filter f : or) {
-            value = row.get(f.getName());
-            if (null == value) {
-                continue;
-            }
-            filter = FilterEnum.getCompareFilter(f.getFilter());
-            if (filter.compare(String.valueOf(value), f.getValue())) {
-                return true;
-            }
-        }
-
-        boolean pass = false;
-        // 并 关系(成立所有条件)
-        for (Filter f : add) {
-            value = row.get(f.getName());
-            if (null == value) {
-                continue;
-            }
-            filter = FilterEnum.getCompareFilter(f.getFilter());
-            if (!filter.compare(String.valueOf(value), f.getValue())) {
-                return false;
-            }
-            pass = true;
-        }
+        return null == predicate || predicate.test(data.getData());
+    }
 
-        return pass;
+    /**
+     * 获取编译后的过滤条件, 没有过滤条件时返回null
+     *
+     * @return
+     */
+    public RowPredicate getPredicate() {
+        return predicate;
     }
 
     private void init(List<Filter> filter, List<Field> column, List<FieldMapping> fieldMapping) {
-        // 解析过滤条件
-        if ((filterSwitch = !CollectionUtils.isEmpty(filter))) {
-            add = filter.stream().filter(f -> StringUtils.equals(f.getOperation(), OperationEnum.AND.getName())).collect(
-                    Collectors.toList());
-            or = filter.stream().filter(f -> StringUtils.equals(f.getOperation(), OperationEnum.OR.getName())).collect(Collectors.toList());
-        }
-
         // column  => [1, 86, 0, 中文, 2020-05-15T12:17:22.000+0800, 备注信息]
         Assert.notEmpty(column, "读取字段不能为空.");
         Assert.notEmpty(fieldMapping, "映射关系不能为空.");
@@ -139,6 +128,13 @@ public class FieldPicker {
             }
         }
         Assert.notEmpty(index, "同步映射关系不能为空.");
+
+        // 编译过滤条件(或: 成立任意条件, 并: 成立所有条件)
+        predicate = CompiledRowPredicate.compile(filter, column.stream().map(Field::getName).collect(Collectors.toList()), key);
+
+        // 目标表主键对应的数据源字段
+        fieldMapping.stream().filter(m -> null != m.getSource() && null != m.getTarget() && m.getTarget().isPk())
+                .findFirst().ifPresent(m -> pkName = m.getSource().getName());
         this.indexSize = index.size();
     }
 
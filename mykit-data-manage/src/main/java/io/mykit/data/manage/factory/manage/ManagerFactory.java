@@ -87,6 +87,11 @@ public class ManagerFactory  implements Manager, ApplicationContextAware, Applic
         return parser.alive(config);
     }
 
+    @Override
+    public void disconnect(ConnectorConfig config) {
+        parser.disconnect(config);
+    }
+
     @Override
     public List<String> getTable(ConnectorConfig config) {
         return parser.getTable(config);
@@ -109,6 +114,10 @@ public class ManagerFactory  implements Manager, ApplicationContextAware, Applic
 
     @Override
     public void removeConnector(String connectorId) {
+        Connector connector = getConnector(connectorId);
+        if (null != connector) {
+            parser.disconnect(connector.getConfig());
+        }
         operationTemplate.remove(new OperationConfig(connectorId));
     }
 
@@ -199,6 +208,11 @@ public class ManagerFactory  implements Manager, ApplicationContextAware, Applic
         return parser.getCount(connectorId, command);
     }
 
+    @Override
+    public long getCount(String connectorId, Map<String, String> command, boolean estimate) {
+        return parser.getCount(connectorId, command, estimate);
+    }
+
     @Override
     public String addMeta(ConfigModel model) {
         return operationTemplate.execute(new OperationConfig(model, HandlerEnum.OPR_ADD.getHandler()));
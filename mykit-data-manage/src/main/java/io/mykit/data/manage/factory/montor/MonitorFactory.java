@@ -15,7 +15,9 @@
  */
 package io.mykit.data.manage.factory.montor;
 
+import io.mykit.data.connector.factory.ConnectorFactory;
 import io.mykit.data.manage.Manager;
+import io.mykit.data.manage.puller.impl.IncrementPuller;
 import io.mykit.data.monitor.Monitor;
 import io.mykit.data.parser.model.Connector;
 import org.slf4j.Logger;
@@ -26,6 +28,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -46,6 +49,12 @@ public class MonitorFactory implements Monitor {
     @Autowired
     private Executor taskExecutor;
 
+    @Autowired
+    private ConnectorFactory connectorFactory;
+
+    @Autowired
+    private IncrementPuller incrementPuller;
+
     @Override
     @Cacheable(value = "connector", keyGenerator = "cacheKeyGenerator")
     public boolean alive(String id) {
@@ -68,4 +77,14 @@ public class MonitorFactory implements Monitor {
         }
         return map;
     }
+
+    @Override
+    public List<Map<String, Object>> getDataSourceInfo() {
+        return connectorFactory.getPoolInfo();
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncrementInfo() {
+        return incrementPuller.getMetrics();
+    }
 }
@@ -0,0 +1,139 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.manage.puller.apply;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 增量点屏障，按提交顺序执行增量点，只有之前提交的所有分区任务执行完成后才更新
+ * <p>任意分区任务失败后停止更新增量点并通知调用方, 重启后从最后一个成功的增量点重新同步</p>
+ */
+public final class CheckpointBarrier {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final LinkedList<Entry> pending = new LinkedList<>();
+
+    private volatile boolean halted;
+
+    /**
+     * 停止更新增量点时回调
+     */
+    private final Runnable onHalt;
+
+    public CheckpointBarrier(Runnable onHalt) {
+        this.onHalt = onHalt;
+    }
+
+    /**
+     * 登记增量点
+     *
+     * @param parties    需要等待完成的分区任务数
+     * @param checkpoint 增量点(可为空)
+     * @return
+     */
+    public Entry register(int parties, Runnable checkpoint) {
+        Entry entry = new Entry(parties, checkpoint);
+        synchronized (this) {
+            // 已停止更新增量点, 不再登记
+            if (halted) {
+                return entry;
+            }
+            pending.addLast(entry);
+        }
+        if (0 == parties) {
+            advance();
+        }
+        return entry;
+    }
+
+    /**
+     * 是否已停止更新增量点
+     *
+     * @return
+     */
+    public boolean isHalted() {
+        return halted;
+    }
+
+    /**
+     * 等待执行的增量点个数
+     *
+     * @return
+     */
+    public synchronized int getPendingSize() {
+        return pending.size();
+    }
+
+    /**
+     * 从队头依次执行已完成的增量点, 遇到失败的分区任务时停止
+     */
+    private synchronized void advance() {
+        while (!halted && !pending.isEmpty() && 0 == pending.peekFirst().remaining.get()) {
+            Entry entry = pending.pollFirst();
+            if (entry.failed) {
+                halted = true;
+                logger.error("分区任务写入失败, 停止更新增量点, 未执行的增量点:{}", pending.size());
+                pending.clear();
+                onHalt.run();
+                break;
+            }
+            if (null != entry.checkpoint) {
+                try {
+                    entry.checkpoint.run();
+                } catch (Exception e) {
+                    logger.error("更新增量点失败:{}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    public final class Entry {
+
+        private final AtomicInteger remaining;
+
+        private final Runnable checkpoint;
+
+        private volatile boolean failed;
+
+        private Entry(int parties, Runnable checkpoint) {
+            this.remaining = new AtomicInteger(parties);
+            this.checkpoint = checkpoint;
+        }
+
+        /**
+         * 分区任务执行失败(需在arrive之前调用)
+         */
+        public void fail() {
+            this.failed = true;
+        }
+
+        /**
+         * 分区任务执行完成
+         */
+        public void arrive() {
+            if (0 == remaining.decrementAndGet()) {
+                advance();
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.manage.puller.apply;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 分区写入器
+ * <ol>
+ * <li>按分区键哈希到固定的写入通道, 每个通道单线程顺序执行, 同一分区的变更保持顺序</li>
+ * <li>不同通道并行执行, 所有通道执行完成后按提交顺序更新增量点</li>
+ * <li>通道队列已满时阻塞提交线程</li>
+ * <li>任务失败时重试, 仍失败则停止更新增量点并回调停止事件(由调用方关闭驱动), 重启后从最后一个成功的增量点重新同步</li>
+ * </ol>
+ */
+public final class PartitionApplier {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * 每个通道的队列长度
+     */
+    private static final int LANE_CAPACITY = 1024;
+
+    /**
+     * 任务失败重试次数
+     */
+    private static final int MAX_RETRIES = 3;
+
+    /**
+     * 重试间隔(ms), 按次数递增
+     */
+    private static final long RETRY_INTERVAL = 1000L;
+
+    private final Lane[] lanes;
+
+    private final CheckpointBarrier barrier;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name     通道名称前缀
+     * @param laneSize 通道个数
+     * @param onHalt   停止更新增量点时回调(在独立线程中执行, 可关闭当前写入器)
+     */
+    public PartitionApplier(String name, int laneSize, Runnable onHalt) {
+        this.barrier = new CheckpointBarrier(() -> {
+            Thread t = new Thread(onHalt, name + "-halt");
+            t.setDaemon(true);
+            t.start();
+        });
+        this.lanes = new Lane[Math.max(1, laneSize)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(name + "-apply-" + i);
+            lanes[i].start();
+        }
+    }
+
+    /**
+     * 通道个数
+     *
+     * @return
+     */
+    public int getLaneSize() {
+        return lanes.length;
+    }
+
+    /**
+     * 获取分区键对应的通道
+     *
+     * @param key
+     * @return
+     */
+    public int getLane(Object key) {
+        int h = null == key ? 0 : key.hashCode();
+        return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    /**
+     * 提交分区任务, 所有任务执行完成后按提交顺序执行增量点
+     *
+     * @param tasks      下标对应通道, 为空表示该通道没有任务
+     * @param checkpoint 增量点(可为空)
+     */
+    public void submit(Runnable[] tasks, Runnable checkpoint) {
+        int parties = 0;
+        for (Runnable task : tasks) {
+            if (null != task) {
+                parties++;
+            }
+        }
+
+        final CheckpointBarrier.Entry entry = barrier.register(parties, checkpoint);
+        for (int i = 0; i < tasks.length; i++) {
+            if (null != tasks[i]) {
+                lanes[i].put(tasks[i], entry);
+            }
+        }
+    }
+
+    /**
+     * 等待执行的增量点个数
+     *
+     * @return
+     */
+    public int getPendingSize() {
+        return barrier.getPendingSize();
+    }
+
+    /**
+     * 是否已停止更新增量点(任务重试后仍失败)
+     *
+     * @return
+     */
+    public boolean isHalted() {
+        return barrier.isHalted();
+    }
+
+    /**
+     * 关闭通道, 未执行的任务丢弃(增量点未更新, 重启后从上次增量点重新同步)
+     */
+    public void close() {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.interrupt();
+        }
+    }
+
+    final class Lane extends Thread {
+
+        private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(LANE_CAPACITY);
+
+        Lane(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        void put(Runnable task, CheckpointBarrier.Entry entry) {
+            try {
+                queue.put(() -> {
+                    try {
+                        // 增量点已停止更新, 驱动正在关闭, 不再写入(重启后从最后一个成功的增量点重新同步)
+                        if (!barrier.isHalted() && !execute(task)) {
+                            entry.fail();
+                        }
+                    } finally {
+                        entry.arrive();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("提交写入任务被中断:{}", getName());
+            }
+        }
+
+        /**
+         * 执行任务, 失败时重试(任务在一个事务中提交, 失败时已回滚)
+         *
+         * @param task
+         * @return 是否执行成功
+         */
+        private boolean execute(Runnable task) {
+            for (int i = 1; ; i++) {
+                try {
+                    task.run();
+                    return true;
+                } catch (Exception e) {
+                    if (i > MAX_RETRIES || !running) {
+                        logger.error("写入任务失败:{}, {}", getName(), e.getMessage());
+                        return false;
+                    }
+                    logger.warn("写入任务失败, 第{}次重试:{}, {}", i, getName(), e.getMessage());
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL * i);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    queue.take().run();
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.mykit.data.manage.puller.impl;
 
 import io.mykit.data.common.event.Event;
+import io.mykit.data.common.event.RowChangedEvent;
 import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.common.utils.UUIDUtils;
 import io.mykit.data.connector.config.ConnectorConfig;
@@ -24,12 +25,16 @@ import io.mykit.data.connector.factory.ConnectorFactory;
 import io.mykit.data.manage.Manager;
 import io.mykit.data.manage.config.ExtractorConfig;
 import io.mykit.data.manage.config.FieldPicker;
+import io.mykit.data.manage.exception.ManagerException;
 import io.mykit.data.manage.puller.AbstractPuller;
+import io.mykit.data.manage.puller.apply.PartitionApplier;
 import io.mykit.data.monitor.AbstractExtractor;
 import io.mykit.data.monitor.Extractor;
 import io.mykit.data.monitor.Listener;
 import io.mykit.data.monitor.config.ListenerConfig;
 import io.mykit.data.monitor.enums.ListenerTypeEnum;
+import io.mykit.data.monitor.filter.RowPredicate;
+import io.mykit.data.monitor.filter.impl.AnyRowPredicate;
 import io.mykit.data.monitor.quartz.QuartzExtractor;
 import io.mykit.data.monitor.quartz.ScheduledTaskJob;
 import io.mykit.data.monitor.quartz.ScheduledTaskService;
@@ -84,6 +89,8 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
 
     private Map<String, Extractor> map = new ConcurrentHashMap<>();
 
+    private Map<String, AbstractListener> listeners = new ConcurrentHashMap<>();
+
     @Override
     public void asyncStart(Mapping mapping) {
         final String mappingId = mapping.getId();
@@ -122,6 +129,10 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             extractor.close();
         }
         map.remove(metaId);
+        AbstractListener event = listeners.remove(metaId);
+        if (null != event) {
+            event.close();
+        }
         publishClosedEvent(metaId);
         logger.info("关闭成功:{}", metaId);
     }
@@ -132,6 +143,26 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
         map.forEach((k, v) -> v.flushEvent());
     }
 
+    /**
+     * 获取运行中的增量任务指标
+     *
+     * @return
+     */
+    public List<Map<String, Object>> getMetrics() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        map.forEach((metaId, extractor) -> {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("metaId", metaId);
+            metrics.putAll(extractor.getMetrics());
+            AbstractListener event = listeners.get(metaId);
+            if (null != event) {
+                metrics.putAll(event.getMetrics());
+            }
+            list.add(metrics);
+        });
+        return list;
+    }
+
     @Override
     public void afterPropertiesSet() {
         key = UUIDUtils.getUUID();
@@ -169,8 +200,16 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             final String connectorType = connectorConfig.getConnectorType();
             AbstractExtractor extractor = listener.getExtractor(connectorType, AbstractExtractor.class);
 
-            ExtractorConfig config = new ExtractorConfig(connectorConfig, listenerConfig, meta.getMap(), new LogListener(mapping, list));
+            LogListener event = new LogListener(mapping, list);
+            AbstractListener old = listeners.put(meta.getId(), event);
+            if (null != old) {
+                old.close();
+            }
+            ExtractorConfig config = new ExtractorConfig(connectorConfig, listenerConfig, meta.getMap(), event);
             setExtractorConfig(extractor, config);
+            extractor.setSourceTableNames(list.stream().map(t -> t.getSourceTable().getName()).collect(Collectors.toSet()));
+            extractor.setSourceTableColumns(event.getColumnIndexes());
+            extractor.setSourceTablePredicates(event.getPredicates());
             return extractor;
         }
         return null;
@@ -193,6 +232,22 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             // nothing to do
         }
 
+        @Override
+        public void changedLogBatchEvent(String tableName, String event, List<List<Object>> before, List<List<Object>> after) {
+            final int size = Math.max(before.size(), after.size());
+            for (int i = 0; i < size; i++) {
+                changedLogEvent(tableName, event, getRow(before, i), getRow(after, i));
+            }
+        }
+
+        @Override
+        public void changedLogTransactionEvent(List<RowChangedEvent> events, Runnable checkpoint) {
+            events.forEach(e -> changedLogBatchEvent(e.getTableName(), e.getEvent(), e.getBefore(), e.getAfter()));
+            if (null != checkpoint) {
+                checkpoint.run();
+            }
+        }
+
         @Override
         public void changedQuartzEvent(int tableGroupIndex, String event, Map<String, Object> before, Map<String, Object> after) {
             // nothing to do
@@ -215,6 +270,18 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             logService.log(LogType.TableGroupLog.INCREMENT_FAILED, e.getMessage());
         }
 
+        protected List<Object> getRow(List<List<Object>> rows, int i) {
+            return i < rows.size() ? rows.get(i) : Collections.EMPTY_LIST;
+        }
+
+        public void close() {
+            // nothing to do
+        }
+
+        public Map<String, Object> getMetrics() {
+            return Collections.EMPTY_MAP;
+        }
+
     }
 
     /**
@@ -283,9 +350,16 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
 
         private Map<String, List<FieldPicker>> tablePicker;
 
+        private PartitionApplier applier;
+
         public LogListener(Mapping mapping, List<TableGroup> list) {
             this.mapping = mapping;
             this.metaId = mapping.getMetaId();
+            // 写入任务重试后仍失败时停止驱动, 避免后续数据越过失败的增量点
+            this.applier = new PartitionApplier(metaId, mapping.getListener().getApplyThreadNum(), () -> {
+                errorEvent(new ManagerException(String.format("增量写入失败, 停止驱动:%s, 重启后从最后一个成功的增量点重新同步", metaId)));
+                IncrementPuller.this.close(metaId);
+            });
             this.tablePicker = new LinkedHashMap<>();
             list.forEach(t -> {
                 final Table table = t.getSourceTable();
@@ -296,6 +370,37 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             });
         }
 
+        /**
+         * 获取每张数据源表需要读取的字段序号(所有映射关系的并集)
+         *
+         * @return
+         */
+        public Map<String, BitSet> getColumnIndexes() {
+            Map<String, BitSet> indexes = new HashMap<>();
+            tablePicker.forEach((tableName, pickers) -> {
+                BitSet bits = new BitSet();
+                pickers.forEach(picker -> bits.or(picker.getColumnIndexes()));
+                indexes.put(tableName, bits);
+            });
+            return indexes;
+        }
+
+        /**
+         * 获取每张数据源表的行过滤条件, 任意一个映射关系没有过滤条件时该表不过滤
+         *
+         * @return
+         */
+        public Map<String, RowPredicate> getPredicates() {
+            Map<String, RowPredicate> predicates = new HashMap<>();
+            tablePicker.forEach((tableName, pickers) -> {
+                List<RowPredicate> list = pickers.stream().map(FieldPicker::getPredicate).collect(Collectors.toList());
+                if (!list.contains(null)) {
+                    predicates.put(tableName, 1 == list.size() ? list.get(0) : new AnyRowPredicate(list));
+                }
+            });
+            return predicates;
+        }
+
         @Override
         public void changedLogEvent(String tableName, String event, List<Object> before, List<Object> after) {
             logger.info("监听数据=> tableName:{}, event:{}, before:{}, after:{}", tableName, event, before, after);
@@ -315,5 +420,114 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             changed.compareAndSet(false, true);
         }
 
+        @Override
+        public void changedLogBatchEvent(String tableName, String event, List<List<Object>> before, List<List<Object>> after) {
+            final int size = Math.max(before.size(), after.size());
+            logger.info("监听数据=> tableName:{}, event:{}, rows:{}", tableName, event, size);
+
+            // 同一条日志事件的所有行批量写入, 处理过程有异常向上抛
+            List<FieldPicker> pickers = tablePicker.get(tableName);
+            if (!CollectionUtils.isEmpty(pickers)) {
+                pickers.parallelStream().forEach(picker -> execute(picker, event, before, after));
+            }
+
+            // 标记有变更记录
+            changed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void changedLogTransactionEvent(List<RowChangedEvent> events, Runnable checkpoint) {
+            logger.info("监听事务=> events:{}", events.size());
+
+            // 1、按(目标表, 主键)分区, 同一行的变更进入同一个通道并保持日志顺序
+            final int laneSize = applier.getLaneSize();
+            final List<Runnable>[] partitions = new List[laneSize];
+            events.forEach(e -> {
+                List<FieldPicker> pickers = tablePicker.get(e.getTableName());
+                if (!CollectionUtils.isEmpty(pickers)) {
+                    pickers.forEach(picker -> partition(partitions, picker, e));
+                }
+            });
+
+            // 2、每个通道的分区数据在目标源的一个事务中提交(事务内共用连接, 按日志顺序串行写入)
+            // 多个通道时一个源事务拆分为每个通道一个目标事务, 需要跨行原子性时写入线程数设置为1
+            Runnable[] tasks = new Runnable[laneSize];
+            for (int i = 0; i < laneSize; i++) {
+                final List<Runnable> partition = partitions[i];
+                if (null != partition) {
+                    tasks[i] = () -> {
+                        try {
+                            parser.transaction(mapping, () -> partition.forEach(Runnable::run));
+                        } catch (RuntimeException e) {
+                            errorEvent(e);
+                            // 由写入通道重试, 仍失败时不更新增量点
+                            throw e;
+                        }
+                    };
+                }
+            }
+
+            // 3、所有通道写入成功后更新增量点, 标记有变更记录
+            applier.submit(tasks, () -> {
+                if (null != checkpoint) {
+                    checkpoint.run();
+                }
+                changed.compareAndSet(false, true);
+            });
+        }
+
+        @Override
+        public void close() {
+            applier.close();
+        }
+
+        @Override
+        public Map<String, Object> getMetrics() {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("写入通道", applier.getLaneSize());
+            metrics.put("待更新增量点", applier.getPendingSize());
+            metrics.put("增量点已停止", applier.isHalted());
+            return metrics;
+        }
+
+        private void partition(List<Runnable>[] partitions, FieldPicker picker, RowChangedEvent e) {
+            final String event = e.getEvent();
+            final int size = e.size();
+            final List<DataEvent>[] buckets = new List[partitions.length];
+            for (int i = 0; i < size; i++) {
+                DataEvent data = new DataEvent(event, picker.getColumns(getRow(e.getBefore(), i)), picker.getColumns(getRow(e.getAfter(), i)));
+                if (picker.filter(data)) {
+                    int lane = applier.getLane(picker.getPartitionKey(data));
+                    if (null == buckets[lane]) {
+                        buckets[lane] = new ArrayList<>();
+                    }
+                    buckets[lane].add(data);
+                }
+            }
+            for (int i = 0; i < buckets.length; i++) {
+                final List<DataEvent> bucket = buckets[i];
+                if (null != bucket) {
+                    if (null == partitions[i]) {
+                        partitions[i] = new ArrayList<>();
+                    }
+                    partitions[i].add(() -> parser.execute(mapping, picker.getTableGroup(), bucket));
+                }
+            }
+        }
+
+        private void execute(FieldPicker picker, String event, List<List<Object>> before, List<List<Object>> after) {
+            final int size = Math.max(before.size(), after.size());
+            List<DataEvent> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                DataEvent data = new DataEvent(event, picker.getColumns(getRow(before, i)), picker.getColumns(getRow(after, i)));
+                if (picker.filter(data)) {
+                    list.add(data);
+                }
+            }
+            if (!CollectionUtils.isEmpty(list)) {
+                parser.execute(mapping, picker.getTableGroup(), list);
+            }
+        }
+
     }
 }
@@ -16,12 +16,19 @@
 package io.mykit.data.monitor;
 
 import io.mykit.data.common.event.Event;
+import io.mykit.data.common.event.RowChangedEvent;
 import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.connector.config.ConnectorConfig;
 import io.mykit.data.monitor.config.ListenerConfig;
+import io.mykit.data.monitor.filter.RowPredicate;
 
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -33,6 +40,12 @@ public abstract class AbstractExtractor implements Extractor{
     protected ConnectorConfig connectorConfig;
     protected ListenerConfig listenerConfig;
     protected Map<String, String> map;
+    // 驱动表(数据源表名), 日志模式下用于过滤无关表的变更
+    protected Set<String> sourceTableNames = Collections.emptySet();
+    // 驱动表需要读取的字段序号(映射的数据源字段), 日志模式下用于跳过无关列的解码
+    protected Map<String, BitSet> sourceTableColumns = Collections.emptyMap();
+    // 驱动表的行过滤条件(编译后), 日志模式下在解析行数据时提前过滤
+    protected Map<String, RowPredicate> sourceTablePredicates = Collections.emptyMap();
     private List<Event> watcher;
 
     @Override
@@ -68,9 +81,28 @@ public abstract class AbstractExtractor implements Extractor{
     }
 
     @Override
-    public void flushEvent() {
+    public void changedLogBatchEvent(String tableName, String event, List<List<Object>> before, List<List<Object>> after) {
+        if (!CollectionUtils.isEmpty(watcher)) {
+            watcher.forEach(w -> w.changedLogBatchEvent(tableName, event, before, after));
+        }
+    }
+
+    @Override
+    public void changedLogTransactionEvent(List<RowChangedEvent> events, Runnable checkpoint) {
         if (!CollectionUtils.isEmpty(watcher)) {
-            watcher.forEach(w -> w.flushEvent(map));
+            watcher.forEach(w -> w.changedLogTransactionEvent(events, checkpoint));
+        }
+    }
+
+    @Override
+    public void flushEvent() {
+        if (!CollectionUtils.isEmpty(watcher) && null != map) {
+            // 增量点由读取线程并发更新(更新时锁定map), 写入副本
+            final Map<String, String> snapshot;
+            synchronized (map) {
+                snapshot = new HashMap<>(map);
+            }
+            watcher.forEach(w -> w.flushEvent(snapshot));
         }
     }
 
@@ -81,6 +113,11 @@ public abstract class AbstractExtractor implements Extractor{
         }
     }
 
+    @Override
+    public Map<String, Object> getMetrics() {
+        return new LinkedHashMap<>();
+    }
+
     public void setConnectorConfig(ConnectorConfig connectorConfig) {
         this.connectorConfig = connectorConfig;
     }
@@ -92,4 +129,16 @@ public abstract class AbstractExtractor implements Extractor{
     public void setMap(Map<String, String> map) {
         this.map = map;
     }
+
+    public void setSourceTableNames(Set<String> sourceTableNames) {
+        this.sourceTableNames = sourceTableNames;
+    }
+
+    public void setSourceTableColumns(Map<String, BitSet> sourceTableColumns) {
+        this.sourceTableColumns = sourceTableColumns;
+    }
+
+    public void setSourceTablePredicates(Map<String, RowPredicate> sourceTablePredicates) {
+        this.sourceTablePredicates = sourceTablePredicates;
+    }
 }
@@ -16,6 +16,7 @@
 package io.mykit.data.monitor;
 
 import io.mykit.data.common.event.Event;
+import io.mykit.data.common.event.RowChangedEvent;
 
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,16 @@ public interface Extractor {
      */
     void changedLogEvent(String tableName, String event, List<Object> before, List<Object> after);
 
+    /**
+     * 日志模式: 监听批量增量事件
+     */
+    void changedLogBatchEvent(String tableName, String event, List<List<Object>> before, List<List<Object>> after);
+
+    /**
+     * 日志模式: 监听事务增量事件
+     */
+    void changedLogTransactionEvent(List<RowChangedEvent> events, Runnable checkpoint);
+
     /**
      * 刷新增量点事件
      */
@@ -66,4 +77,9 @@ public interface Extractor {
      * 异常事件
      */
     void errorEvent(Exception e);
+
+    /**
+     * 运行指标
+     */
+    Map<String, Object> getMetrics();
 }
@@ -15,6 +15,7 @@
  */
 package io.mykit.data.monitor;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,4 +34,14 @@ public interface Monitor {
      * 获取线程信息
      */
     Map getThreadInfo();
+
+    /**
+     * 获取连接池信息
+     */
+    List<Map<String, Object>> getDataSourceInfo();
+
+    /**
+     * 获取增量任务信息(缓冲区/写入通道)
+     */
+    List<Map<String, Object>> getIncrementInfo();
 }
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.buffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 批量事件消费者，每次处理所有已发布的事件后再释放槽位
+ * <p>处理事件失败时停止消费, 失败的事件及之后的槽位不再释放, 由异常回调处理(例如关闭读取)</p>
+ */
+public final class BatchEventProcessor<T> implements Runnable {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final RingBuffer<T> ringBuffer;
+
+    private final EventHandler<T> handler;
+
+    private final Consumer<Exception> errorHandler;
+
+    private final Sequence sequence;
+
+    private volatile boolean running = true;
+
+    private volatile long batchCount;
+
+    private Thread worker;
+
+    public BatchEventProcessor(RingBuffer<T> ringBuffer, EventHandler<T> handler, Consumer<Exception> errorHandler) {
+        this.ringBuffer = ringBuffer;
+        this.handler = handler;
+        this.errorHandler = errorHandler;
+        this.sequence = ringBuffer.getGatingSequence();
+    }
+
+    /**
+     * 启动消费线程
+     *
+     * @param name
+     */
+    public void start(String name) {
+        worker = new Thread(this, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 停止消费, 未处理的事件丢弃
+     */
+    public void halt() {
+        running = false;
+        ringBuffer.alert();
+        if (null != worker) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        final WaitStrategy waitStrategy = ringBuffer.getWaitStrategy();
+        long next = sequence.get() + 1;
+        while (running) {
+            try {
+                final long available = waitStrategy.waitFor(next, ringBuffer.getCursor());
+                while (next <= available) {
+                    try {
+                        handler.onEvent(ringBuffer.get(next), next, next == available);
+                    } catch (Exception e) {
+                        // 只释放已处理的槽位, 停止生产和消费
+                        logger.error("处理事件失败, 停止消费:{}, {}", next, e.getMessage());
+                        sequence.set(next - 1);
+                        running = false;
+                        ringBuffer.alert();
+                        errorHandler.accept(e);
+                        return;
+                    }
+                    next++;
+                }
+                batchCount++;
+                sequence.set(available);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 已处理批次数
+     *
+     * @return
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+}
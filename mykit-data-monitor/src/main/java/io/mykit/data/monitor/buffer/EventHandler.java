@@ -0,0 +1,33 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.buffer;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 批量事件处理器
+ */
+public interface EventHandler<T> {
+
+    /**
+     * 处理事件
+     *
+     * @param event      槽位事件(处理完成后槽位会被复用)
+     * @param sequence   序号
+     * @param endOfBatch 是否为本批次最后一个事件
+     */
+    void onEvent(T event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.buffer;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 有界环形缓冲区（单生产者/单消费者）
+ * <ol>
+ * <li>槽位在创建时预分配, 生产者填充槽位后发布序号, 运行期间不产生队列节点</li>
+ * <li>缓冲区已满时生产者等待消费者释放槽位（反压）, 并记录等待次数和耗时</li>
+ * </ol>
+ */
+public final class RingBuffer<T> {
+
+    private final Object[] entries;
+
+    private final int bufferSize;
+
+    private final int mask;
+
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * 生产者已发布的序号
+     */
+    private final Sequence cursor = new Sequence(-1);
+
+    /**
+     * 消费者已处理的序号
+     */
+    private final Sequence gatingSequence = new Sequence(-1);
+
+    /**
+     * 生产者下一个序号(仅生产者线程访问)
+     */
+    private long nextValue = -1;
+
+    /**
+     * 缓存的消费者序号(仅生产者线程访问)
+     */
+    private long cachedGatingSequence = -1;
+
+    private volatile boolean alerted;
+
+    private volatile long waitCount;
+
+    private volatile long waitNanos;
+
+    public RingBuffer(Supplier<T> factory, int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of 2");
+        }
+        this.bufferSize = bufferSize;
+        this.mask = bufferSize - 1;
+        this.waitStrategy = waitStrategy;
+        this.entries = new Object[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = factory.get();
+        }
+    }
+
+    /**
+     * 申请下一个槽位序号, 缓冲区已满时等待
+     *
+     * @return
+     */
+    public long next() {
+        final long next = nextValue + 1;
+        final long wrapPoint = next - bufferSize;
+        if (wrapPoint > cachedGatingSequence) {
+            long begin = 0;
+            long minSequence;
+            while (wrapPoint > (minSequence = gatingSequence.get())) {
+                if (alerted) {
+                    throw new IllegalStateException("RingBuffer is closed.");
+                }
+                if (0 == begin) {
+                    begin = System.nanoTime();
+                    waitCount++;
+                }
+                LockSupport.parkNanos(1L);
+            }
+            if (0 != begin) {
+                waitNanos += System.nanoTime() - begin;
+            }
+            cachedGatingSequence = minSequence;
+        }
+        nextValue = next;
+        return next;
+    }
+
+    /**
+     * 申请下一个槽位序号, 缓冲区已满时不等待
+     *
+     * @return 缓冲区已满时返回-1
+     */
+    public long tryNext() {
+        final long next = nextValue + 1;
+        final long wrapPoint = next - bufferSize;
+        if (wrapPoint > cachedGatingSequence) {
+            final long minSequence = gatingSequence.get();
+            if (wrapPoint > minSequence) {
+                return -1;
+            }
+            cachedGatingSequence = minSequence;
+        }
+        nextValue = next;
+        return next;
+    }
+
+    /**
+     * 获取槽位
+     *
+     * @param sequence
+     * @return
+     */
+    public T get(long sequence) {
+        return (T) entries[(int) (sequence & mask)];
+    }
+
+    /**
+     * 发布序号, 槽位对消费者可见
+     *
+     * @param sequence
+     */
+    public void publish(long sequence) {
+        cursor.set(sequence);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * 停止生产(唤醒等待中的生产者)
+     */
+    public void alert() {
+        this.alerted = true;
+    }
+
+    Sequence getCursor() {
+        return cursor;
+    }
+
+    Sequence getGatingSequence() {
+        return gatingSequence;
+    }
+
+    WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 已发布未处理的事件数
+     *
+     * @return
+     */
+    public long size() {
+        return cursor.get() - gatingSequence.get();
+    }
+
+    /**
+     * 已发布的事件数
+     *
+     * @return
+     */
+    public long getPublished() {
+        return cursor.get() + 1;
+    }
+
+    /**
+     * 生产者等待次数(缓冲区已满)
+     *
+     * @return
+     */
+    public long getWaitCount() {
+        return waitCount;
+    }
+
+    /**
+     * 生产者等待耗时(纳秒)
+     *
+     * @return
+     */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.buffer;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 序号，前后填充缓存行，避免生产者和消费者的序号伪共享
+ */
+public final class Sequence {
+
+    private static final AtomicLongFieldUpdater<Sequence> UPDATER = AtomicLongFieldUpdater.newUpdater(Sequence.class, "value");
+
+    protected long p1, p2, p3, p4, p5, p6, p7;
+
+    private volatile long value;
+
+    protected long p9, p10, p11, p12, p13, p14, p15;
+
+    public Sequence(long initialValue) {
+        this.value = initialValue;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    /**
+     * 有序写入（不需要立即对其他线程可见, 开销低于volatile写）
+     *
+     * @param value
+     */
+    public void set(long value) {
+        UPDATER.lazySet(this, value);
+    }
+
+    /**
+     * volatile写入（之后读取的变量不会重排序到写入之前, 用于唤醒等待线程前发布）
+     *
+     * @param value
+     */
+    public void setVolatile(long value) {
+        this.value = value;
+    }
+}
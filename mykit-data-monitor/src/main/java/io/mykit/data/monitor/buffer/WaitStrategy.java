@@ -0,0 +1,39 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.buffer;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 消费者等待策略
+ */
+public interface WaitStrategy {
+
+    /**
+     * 等待指定序号可用
+     *
+     * @param sequence 等待的序号
+     * @param cursor   生产者已发布的序号
+     * @return 已发布的最大序号(大于等于sequence)
+     * @throws InterruptedException 消费者停止时中断
+     */
+    long waitFor(long sequence, Sequence cursor) throws InterruptedException;
+
+    /**
+     * 发布后唤醒阻塞的消费者
+     */
+    void signalAllWhenBlocking();
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.buffer.impl;
+
+import io.mykit.data.monitor.buffer.Sequence;
+import io.mykit.data.monitor.buffer.WaitStrategy;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 阻塞等待，空闲时不占用CPU，延迟最高
+ */
+public final class BlockingWaitStrategy implements WaitStrategy {
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Condition processorNotify = lock.newCondition();
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor) throws InterruptedException {
+        if (cursor.get() < sequence) {
+            lock.lockInterruptibly();
+            try {
+                while (cursor.get() < sequence) {
+                    processorNotify.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return cursor.get();
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        lock.lock();
+        try {
+            processorNotify.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
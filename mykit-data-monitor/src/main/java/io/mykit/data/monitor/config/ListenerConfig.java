@@ -53,6 +53,39 @@ public class ListenerConfig implements Serializable {
     // 表别名
     private String tableLabel = "T1";
 
+    // 日志模式: 单个事务最大行数, 超过后拆分为多次提交
+    private int maxTransactionSize = 10000;
+
+    // 日志模式: 并行写入数, 按(目标表, 主键)分区, 同一行的变更保持顺序; 大于1时一个源事务按分区拆分为多个目标事务, 所有分区提交后才更新增量点
+    private int applyThreadNum = 1;
+
+    // 日志模式: 解析和写入之间的缓冲区大小(2的幂)
+    private int bufferSize = 1024;
+
+    // 日志模式: 缓冲区等待策略, 参考WaitStrategyEnum
+    private String waitStrategy = "blocking";
+
+    // 日志模式: 使用NIO通道读取binlog(直接内存缓冲区, 减少拷贝)
+    private boolean nioTransport = false;
+
+    // 定时模式: 增量字段(时间戳), 不为空时按(增量字段, 主键)续读, 不再按页码分页
+    private String watermarkField = "";
+
+    // 定时模式: 增量主键, 为空时取数据源表主键
+    private String watermarkKey = "";
+
+    // 定时模式: 同时读取的表映射数, 限制数据源并发查询
+    private int pollThreadNum = 1;
+
+    // 定时模式: 自适应轮询(独立定时器, 不使用cron表达式)
+    private boolean adaptivePolling = false;
+
+    // 定时模式: 自适应轮询最小间隔(秒), 有数据时使用
+    private int minPollInterval = 1;
+
+    // 定时模式: 自适应轮询最大间隔(秒), 没有数据时间隔翻倍直到该值
+    private int maxPollInterval = 60;
+
     public ListenerConfig() {
     }
 
@@ -123,4 +156,92 @@ public class ListenerConfig implements Serializable {
     public void setTableLabel(String tableLabel) {
         this.tableLabel = tableLabel;
     }
+
+    public int getMaxTransactionSize() {
+        return maxTransactionSize;
+    }
+
+    public void setMaxTransactionSize(int maxTransactionSize) {
+        this.maxTransactionSize = maxTransactionSize;
+    }
+
+    public int getApplyThreadNum() {
+        return applyThreadNum;
+    }
+
+    public void setApplyThreadNum(int applyThreadNum) {
+        this.applyThreadNum = applyThreadNum;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public String getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(String waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public boolean isNioTransport() {
+        return nioTransport;
+    }
+
+    public void setNioTransport(boolean nioTransport) {
+        this.nioTransport = nioTransport;
+    }
+
+    public String getWatermarkField() {
+        return watermarkField;
+    }
+
+    public void setWatermarkField(String watermarkField) {
+        this.watermarkField = watermarkField;
+    }
+
+    public String getWatermarkKey() {
+        return watermarkKey;
+    }
+
+    public void setWatermarkKey(String watermarkKey) {
+        this.watermarkKey = watermarkKey;
+    }
+
+    public int getPollThreadNum() {
+        return pollThreadNum;
+    }
+
+    public void setPollThreadNum(int pollThreadNum) {
+        this.pollThreadNum = pollThreadNum;
+    }
+
+    public boolean isAdaptivePolling() {
+        return adaptivePolling;
+    }
+
+    public void setAdaptivePolling(boolean adaptivePolling) {
+        this.adaptivePolling = adaptivePolling;
+    }
+
+    public int getMinPollInterval() {
+        return minPollInterval;
+    }
+
+    public void setMinPollInterval(int minPollInterval) {
+        this.minPollInterval = minPollInterval;
+    }
+
+    public int getMaxPollInterval() {
+        return maxPollInterval;
+    }
+
+    public void setMaxPollInterval(int maxPollInterval) {
+        this.maxPollInterval = maxPollInterval;
+    }
 }
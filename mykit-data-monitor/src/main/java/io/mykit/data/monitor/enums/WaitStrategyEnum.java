@@ -0,0 +1,78 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.enums;
+
+import io.mykit.data.monitor.buffer.WaitStrategy;
+import io.mykit.data.monitor.buffer.impl.BlockingWaitStrategy;
+import io.mykit.data.monitor.buffer.impl.BusySpinWaitStrategy;
+import io.mykit.data.monitor.buffer.impl.SleepingWaitStrategy;
+import io.mykit.data.monitor.buffer.impl.YieldingWaitStrategy;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 缓冲区等待策略枚举
+ */
+public enum WaitStrategyEnum {
+
+    /**
+     * 阻塞
+     */
+    BLOCKING("blocking", BlockingWaitStrategy::new),
+    /**
+     * 休眠
+     */
+    SLEEPING("sleeping", SleepingWaitStrategy::new),
+    /**
+     * 让出CPU
+     */
+    YIELDING("yielding", YieldingWaitStrategy::new),
+    /**
+     * 忙等待
+     */
+    BUSY_SPIN("busySpin", BusySpinWaitStrategy::new);
+
+    private String type;
+
+    private Supplier<WaitStrategy> supplier;
+
+    WaitStrategyEnum(String type, Supplier<WaitStrategy> supplier) {
+        this.type = type;
+        this.supplier = supplier;
+    }
+
+    /**
+     * 创建等待策略, 未知类型使用阻塞策略
+     *
+     * @param type
+     * @return
+     */
+    public static WaitStrategy getWaitStrategy(String type) {
+        for (WaitStrategyEnum e : WaitStrategyEnum.values()) {
+            if (StringUtils.equals(e.getType(), type)) {
+                return e.supplier.get();
+            }
+        }
+        return BLOCKING.supplier.get();
+    }
+
+    public String getType() {
+        return type;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.filter;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 编译后的行过滤条件, 可以按字段序号在解析行数据时提前判断, 也可以按字段名判断
+ */
+public interface RowPredicate {
+
+    /**
+     * 过滤条件用到的字段序号
+     *
+     * @return
+     */
+    BitSet getColumns();
+
+    /**
+     * 按字段序号判断
+     *
+     * @param row 行数据, 下标为字段序号, 未解析的字段为null
+     * @return
+     */
+    boolean test(Object[] row);
+
+    /**
+     * 按字段名判断
+     *
+     * @param row
+     * @return
+     */
+    boolean test(Map<String, Object> row);
+}
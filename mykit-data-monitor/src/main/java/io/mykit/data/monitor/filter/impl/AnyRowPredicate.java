@@ -0,0 +1,63 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.filter.impl;
+
+import io.mykit.data.monitor.filter.RowPredicate;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 同一张数据源表有多个映射关系时, 任意一个通过即保留该行
+ */
+public final class AnyRowPredicate implements RowPredicate {
+
+    private final RowPredicate[] predicates;
+    private final BitSet columns = new BitSet();
+
+    public AnyRowPredicate(List<? extends RowPredicate> predicates) {
+        this.predicates = predicates.toArray(new RowPredicate[0]);
+        predicates.forEach(p -> columns.or(p.getColumns()));
+    }
+
+    @Override
+    public BitSet getColumns() {
+        return columns;
+    }
+
+    @Override
+    public boolean test(Object[] row) {
+        for (RowPredicate p : predicates) {
+            if (p.test(row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean test(Map<String, Object> row) {
+        for (RowPredicate p : predicates) {
+            if (p.test(row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.filter.impl;
+
+import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.config.Filter;
+import io.mykit.data.connector.enums.FilterEnum;
+import io.mykit.data.connector.enums.OperationEnum;
+import io.mykit.data.connector.exception.ConnectorException;
+import io.mykit.data.monitor.filter.RowPredicate;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 由映射关系的过滤条件编译, 比较值预先解析, 判断结果与FilterEnum逐条比较一致
+ * <ol>
+ * <li>或: 任意条件成立即通过</li>
+ * <li>并: 所有条件成立才通过, 没有可判断的条件时不通过</li>
+ * <li>字段值为null(包括未同步的字段)时忽略该条件</li>
+ * </ol>
+ */
+public final class CompiledRowPredicate implements RowPredicate {
+
+    private final Condition[] and;
+    private final Condition[] or;
+    private final BitSet columns = new BitSet();
+
+    private CompiledRowPredicate(List<Condition> and, List<Condition> or) {
+        this.and = and.toArray(new Condition[0]);
+        this.or = or.toArray(new Condition[0]);
+        and.forEach(c -> columns.set(c.index));
+        or.forEach(c -> columns.set(c.index));
+    }
+
+    /**
+     * 编译过滤条件
+     *
+     * @param filter  过滤条件
+     * @param column  数据源字段(按序号)
+     * @param synced  同步的字段, 其他字段在判断时值总是null
+     * @return 没有过滤条件时返回null
+     */
+    public static CompiledRowPredicate compile(List<Filter> filter, List<String> column, Set<String> synced) {
+        if (CollectionUtils.isEmpty(filter)) {
+            return null;
+        }
+        List<Condition> and = new ArrayList<>();
+        List<Condition> or = new ArrayList<>();
+        for (Filter f : filter) {
+            final int index = column.indexOf(f.getName());
+            // 与字段选择器一致: 没有同步的字段取不到值, 条件不参与判断
+            if (index < 0 || !synced.contains(f.getName())) {
+                continue;
+            }
+            final Condition c = new Condition(f.getName(), index, getFilterEnum(f.getFilter()), f.getValue());
+            if (StringUtils.equals(f.getOperation(), OperationEnum.AND.getName())) {
+                and.add(c);
+            } else if (StringUtils.equals(f.getOperation(), OperationEnum.OR.getName())) {
+                or.add(c);
+            }
+        }
+        return new CompiledRowPredicate(and, or);
+    }
+
+    @Override
+    public BitSet getColumns() {
+        return columns;
+    }
+
+    @Override
+    public boolean test(Object[] row) {
+        for (Condition c : or) {
+            final Object value = c.index < row.length ? row[c.index] : null;
+            if (null != value && c.test(value)) {
+                return true;
+            }
+        }
+
+        boolean pass = false;
+        for (Condition c : and) {
+            final Object value = c.index < row.length ? row[c.index] : null;
+            if (null == value) {
+                continue;
+            }
+            if (!c.test(value)) {
+                return false;
+            }
+            pass = true;
+        }
+        return pass;
+    }
+
+    @Override
+    public boolean test(Map<String, Object> row) {
+        for (Condition c : or) {
+            final Object value = row.get(c.name);
+            if (null != value && c.test(value)) {
+                return true;
+            }
+        }
+
+        boolean pass = false;
+        for (Condition c : and) {
+            final Object value = row.get(c.name);
+            if (null == value) {
+                continue;
+            }
+            if (!c.test(value)) {
+                return false;
+            }
+            pass = true;
+        }
+        return pass;
+    }
+
+    private static FilterEnum getFilterEnum(String name) {
+        for (FilterEnum e : FilterEnum.values()) {
+            if (StringUtils.equals(name, e.getName())) {
+                return e;
+            }
+        }
+        throw new ConnectorException(String.format("FilterEnum name \"%s\" does not exist.", name));
+    }
+
+    static final class Condition {
+        final String name;
+        final int index;
+        final FilterEnum op;
+        final String value;
+        final int intValue;
+
+        Condition(String name, int index, FilterEnum op, String value) {
+            this.name = name;
+            this.index = index;
+            this.op = op;
+            this.value = value;
+            this.intValue = NumberUtils.toInt(value);
+        }
+
+        boolean test(Object v) {
+            switch (op) {
+                case EQUAL:
+                    return StringUtils.equals(toString(v), value);
+                case NOT_EQUAL:
+                    return !StringUtils.equals(toString(v), value);
+                case GT:
+                    return toInt(v) > intValue;
+                case LT:
+                    return toInt(v) < intValue;
+                case GT_AND_EQUAL:
+                    return toInt(v) >= intValue;
+                case LT_AND_EQUAL:
+                    return toInt(v) <= intValue;
+                default:
+                    return op.getCompareFilter().compare(toString(v), value);
+            }
+        }
+
+        private static String toString(Object v) {
+            return v instanceof String ? (String) v : String.valueOf(v);
+        }
+
+        /**
+         * 等价于NumberUtils.toInt(String.valueOf(v)), 整数类型不经过字符串
+         */
+        private static int toInt(Object v) {
+            if (v instanceof Integer || v instanceof Short || v instanceof Byte) {
+                return ((Number) v).intValue();
+            }
+            if (v instanceof Long) {
+                final long l = (Long) v;
+                return l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE ? (int) l : 0;
+            }
+            return NumberUtils.toInt(toString(v));
+        }
+    }
+}
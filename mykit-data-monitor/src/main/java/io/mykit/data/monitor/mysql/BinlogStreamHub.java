@@ -0,0 +1,623 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.mysql;
+
+import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.monitor.filter.RowPredicate;
+import io.mykit.data.monitor.filter.impl.AnyRowPredicate;
+import io.mykit.data.monitor.mysql.binlog.BinlogColumnProjection;
+import io.mykit.data.monitor.mysql.binlog.BinlogEventListener;
+import io.mykit.data.monitor.mysql.binlog.BinlogEventV4;
+import io.mykit.data.monitor.mysql.binlog.BinlogEventV4Header;
+import io.mykit.data.monitor.mysql.binlog.BinlogParser;
+import io.mykit.data.monitor.mysql.binlog.BinlogParserContext;
+import io.mykit.data.monitor.mysql.binlog.BinlogParserListener;
+import io.mykit.data.monitor.mysql.binlog.BinlogRemoteClient;
+import io.mykit.data.monitor.mysql.binlog.BinlogRowEventFilter;
+import io.mykit.data.monitor.mysql.binlog.impl.event.AbstractBinlogEventV4;
+import io.mykit.data.monitor.mysql.binlog.impl.event.FormatDescriptionEvent;
+import io.mykit.data.monitor.mysql.binlog.impl.event.QueryEvent;
+import io.mykit.data.monitor.mysql.binlog.impl.event.RotateEvent;
+import io.mykit.data.monitor.mysql.binlog.impl.event.TableMapEvent;
+import io.mykit.data.monitor.mysql.binlog.impl.event.XidEvent;
+import io.mykit.data.monitor.mysql.binlog.impl.filter.BinlogRowEventFilterImpl;
+import io.mykit.data.monitor.mysql.binlog.impl.filter.TableRowEventFilterImpl;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 同一个MySQL实例(地址+账号)的binlog共享一个复制连接, 解析一次后分发给所有订阅的驱动
+ * <ol>
+ * <li>第一个订阅者从自己的增量点启动复制连接, 后续订阅者在事务边界之后的第一个事件前加入</li>
+ * <li>增量点不早于当前读取位置的订阅者跳过增量点之前的事件; 早于当前读取位置的订阅者由调用方单独追赶</li>
+ * <li>库表/列/过滤条件取所有订阅者的并集, 各订阅者收到的行仍需按自己的映射过滤</li>
+ * <li>最后一个订阅者退出时关闭复制连接</li>
+ * </ol>
+ */
+public final class BinlogStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinlogStreamHub.class);
+
+    private static final Map<String, BinlogStreamHub> HUBS = new ConcurrentHashMap<>();
+
+    private static final String COMMIT = "COMMIT";
+
+    private final String key;
+
+    /**
+     * 地址:端口:帐号(用于日志和监控)
+     */
+    private final String name;
+
+    /**
+     * 已加入的订阅者(解析线程遍历)
+     */
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * 等待事务边界加入的订阅者
+     */
+    private final List<Subscription> pending = new ArrayList<>();
+
+    private volatile boolean hasPending;
+
+    private final HubRowEventFilter filter = new HubRowEventFilter();
+
+    private final AtomicLong dispatched = new AtomicLong();
+
+    private BinlogRemoteClient client;
+
+    private boolean closed;
+
+    /**
+     * 最近一个事务边界的位置
+     */
+    private volatile String binlogFileName;
+
+    private volatile long binlogPosition;
+
+    private BinlogStreamHub(String key, String name) {
+        this.key = key;
+        this.name = name;
+    }
+
+    /**
+     * 订阅binlog事件, 同一个实例和账号共享一个复制连接
+     *
+     * @param s
+     * @return 共享连接; 订阅者的增量点早于当前读取位置时返回null, 需要单独读取
+     * @throws Exception 启动复制连接失败
+     */
+    public static BinlogStreamHub subscribe(Subscription s) throws Exception {
+        final String name = new StringBuilder(s.getIp()).append(":").append(s.getPort()).append(":").append(s.getUsername()).toString();
+        // 密码不同(错误或已修改)时不共享已认证的连接
+        final String password = StringUtils.defaultString(s.getPassword());
+        final String key = name + ":" + DigestUtils.md5DigestAsHex(password.getBytes(StandardCharsets.UTF_8));
+        for (; ; ) {
+            BinlogStreamHub hub = HUBS.computeIfAbsent(key, k -> new BinlogStreamHub(k, name));
+            synchronized (hub) {
+                // 并发关闭, 重新获取
+                if (!hub.closed) {
+                    return hub.doSubscribe(s) ? hub : null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 复制连接的serverId, 同一个实例上的多个复制连接不能相同(相同时先建立的连接被实例断开)
+     *
+     * @return
+     */
+    public static int nextServerId() {
+        return ThreadLocalRandom.current().nextInt(65536, Integer.MAX_VALUE);
+    }
+
+    private boolean doSubscribe(Subscription s) throws Exception {
+        if (null == client) {
+            subscriptions.add(s);
+            refreshFilter();
+            try {
+                start(s);
+            } catch (Exception e) {
+                subscriptions.remove(s);
+                close();
+                throw e;
+            }
+            return true;
+        }
+
+        if (!s.isNotBefore(binlogFileName, binlogPosition)) {
+            return false;
+        }
+        // 在下一个事务开始前加入, 届时增量点已落后(错过了当前事务)的订阅者单独读取
+        pending.add(s);
+        hasPending = true;
+        refreshFilter();
+        return true;
+    }
+
+    /**
+     * 取消订阅, 没有订阅者时关闭复制连接
+     *
+     * @param s
+     */
+    public synchronized void unsubscribe(Subscription s) {
+        boolean removed = subscriptions.remove(s) | pending.remove(s);
+        if (!removed) {
+            return;
+        }
+        hasPending = !pending.isEmpty();
+        if (!subscriptions.isEmpty() || !pending.isEmpty()) {
+            refreshFilter();
+            return;
+        }
+
+        close();
+    }
+
+    private void close() {
+        closed = true;
+        HUBS.remove(key, this);
+        if (null != client) {
+            try {
+                // 不等待解析线程退出, 允许在解析线程内取消订阅
+                client.stopQuietly();
+            } catch (Exception e) {
+                logger.error("关闭binlog共享连接失败:{}", e.getMessage());
+            }
+            client = null;
+        }
+    }
+
+    private void start(Subscription s) throws Exception {
+        final String threadSuffixName = new StringBuilder("mysql-binlog-hub-").append(s.getIp()).append(":").append(s.getPort()).toString();
+        client = new BinlogRemoteClient(s.getIp(), s.getPort(), s.getUsername(), s.getPassword(), threadSuffixName);
+        client.setBinlogFileName(s.getBinlogFileName());
+        client.setBinlogPosition(s.getBinlogPosition());
+        client.setServerId(nextServerId());
+        client.setNioTransport(s.isNioTransport());
+        client.setFilter(filter);
+        client.setColumnProjection(filter);
+        client.setBinlogEventListener(new DispatchListener());
+        client.setBinlogParserListener(new BinlogParserListener.Adapter() {
+            @Override
+            public void onStop(BinlogParser parser) {
+                // 连接异常断开, 后续订阅者重新建立连接; 当前订阅者全部退出, 从各自的增量点单独读取
+                List<Subscription> stopped;
+                synchronized (BinlogStreamHub.this) {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    HUBS.remove(key, BinlogStreamHub.this);
+                    stopped = new ArrayList<>(subscriptions);
+                    stopped.addAll(pending);
+                    subscriptions.clear();
+                    pending.clear();
+                    hasPending = false;
+                    client = null;
+                }
+                logger.warn("binlog共享连接已断开:{}, 订阅者:{}", name, stopped.size());
+                stopped.forEach(Subscription::onStop);
+            }
+        });
+        client.start();
+
+        binlogFileName = client.getBinlogFileName();
+        binlogPosition = client.getBinlogPosition();
+        logger.info("binlog共享连接已启动:{}, binlogFileName:{}, binlogPosition:{}", name, binlogFileName, binlogPosition);
+    }
+
+    /**
+     * 事务边界: 更新读取位置
+     *
+     * @param event
+     */
+    private synchronized void onBoundary(AbstractBinlogEventV4 event) {
+        final long nextPosition = event.getHeader().getNextPosition();
+        if (0 == nextPosition) {
+            // 复制开始时的虚拟事件
+            return;
+        }
+        binlogFileName = event.getBinlogFilename();
+        binlogPosition = nextPosition;
+    }
+
+    /**
+     * 事务边界之后的第一个事件前: 等待中的订阅者加入(增量点早于读取位置的订阅者通知单独读取), 没有订阅者时关闭复制连接
+     */
+    private synchronized void joinPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Subscription> lagging = new ArrayList<>();
+        for (Subscription s : pending) {
+            if (s.isNotBefore(binlogFileName, binlogPosition)) {
+                subscriptions.add(s);
+            } else {
+                lagging.add(s);
+            }
+        }
+        pending.clear();
+        hasPending = false;
+        if (lagging.isEmpty()) {
+            return;
+        }
+        refreshFilter();
+        lagging.forEach(Subscription::onLagging);
+        if (subscriptions.isEmpty() && pending.isEmpty()) {
+            close();
+        }
+    }
+
+    /**
+     * 按所有订阅者的库表重建拦截器
+     */
+    private void refreshFilter() {
+        List<Subscription> all = new ArrayList<>(subscriptions);
+        all.addAll(pending);
+        filter.delegate = buildFilter(all);
+    }
+
+    private TableRowEventFilterImpl buildFilter(List<Subscription> all) {
+        if (all.isEmpty()) {
+            return null;
+        }
+
+        String database = null;
+        Set<String> tables = new HashSet<>();
+        Map<String, BitSet> columns = new HashMap<>();
+        Set<String> allColumns = new HashSet<>();
+        Map<String, List<RowPredicate>> predicates = new HashMap<>();
+        Set<String> allRows = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            Subscription s = all.get(i);
+            // 有订阅者未限定库表, 或者订阅不同的库时不拦截
+            if (CollectionUtils.isEmpty(s.getTables())) {
+                return null;
+            }
+            final String db = StringUtils.lowerCase(s.getDatabase());
+            if (0 == i) {
+                database = db;
+            } else if (!StringUtils.equals(database, db)) {
+                return null;
+            }
+
+            for (String table : s.getTables()) {
+                final String name = table.toLowerCase();
+                tables.add(name);
+
+                BitSet c = s.getColumns().get(table);
+                if (null == c) {
+                    allColumns.add(name);
+                } else {
+                    columns.computeIfAbsent(name, k -> new BitSet()).or(c);
+                }
+
+                RowPredicate p = s.getPredicates().get(table);
+                if (null == p) {
+                    allRows.add(name);
+                } else {
+                    predicates.computeIfAbsent(name, k -> new ArrayList<>()).add(p);
+                }
+            }
+        }
+        allColumns.forEach(columns::remove);
+        allRows.forEach(predicates::remove);
+
+        Map<String, RowPredicate> predicate = new HashMap<>();
+        predicates.forEach((table, list) -> predicate.put(table, 1 == list.size() ? list.get(0) : new AnyRowPredicate(list)));
+        return new TableRowEventFilterImpl(database, tables, columns, predicate);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size() + pending.size();
+    }
+
+    public long getDispatched() {
+        return dispatched.get();
+    }
+
+    public String getBinlogFileName() {
+        return binlogFileName;
+    }
+
+    public long getBinlogPosition() {
+        return binlogPosition;
+    }
+
+    /**
+     * 比较binlog位置
+     *
+     * @return 负数: 位置1早于位置2
+     */
+    static int compare(String fileName1, long position1, String fileName2, long position2) {
+        int r = compareFileName(StringUtils.defaultString(fileName1), StringUtils.defaultString(fileName2));
+        return 0 != r ? r : Long.compare(position1, position2);
+    }
+
+    /**
+     * 比较binlog文件名: 先比较文件名前缀, 再按数字比较序号(mysql-bin.999999之后为mysql-bin.1000000)
+     */
+    private static int compareFileName(String fileName1, String fileName2) {
+        final int i = fileName1.lastIndexOf('.');
+        final int j = fileName2.lastIndexOf('.');
+        int r = (i < 0 ? fileName1 : fileName1.substring(0, i)).compareTo(j < 0 ? fileName2 : fileName2.substring(0, j));
+        if (0 != r) {
+            return r;
+        }
+        final String ext1 = i < 0 ? "" : fileName1.substring(i + 1);
+        final String ext2 = j < 0 ? "" : fileName2.substring(j + 1);
+        if (NumberUtils.isDigits(ext1) && NumberUtils.isDigits(ext2)) {
+            return new BigInteger(ext1).compareTo(new BigInteger(ext2));
+        }
+        return ext1.compareTo(ext2);
+    }
+
+    /**
+     * 解析线程: 分发给已加入的订阅者
+     */
+    final class DispatchListener implements BinlogEventListener {
+
+        /**
+         * 上一个事件是否为事务边界(仅解析线程访问), 复制开始时位于订阅者的增量点
+         */
+        private boolean atBoundary = true;
+
+        @Override
+        public void onEvents(BinlogEventV4 event) {
+            if (event == null) {
+                return;
+            }
+            dispatched.incrementAndGet();
+            if (!(event instanceof RotateEvent || event instanceof FormatDescriptionEvent)) {
+                // 新事务开始, 等待中的订阅者在分发之前加入
+                if (atBoundary && hasPending) {
+                    joinPending();
+                }
+                atBoundary = false;
+            }
+            for (Subscription s : subscriptions) {
+                try {
+                    s.deliver(event);
+                } catch (Exception e) {
+                    // 单个订阅者异常不影响其他订阅者
+                    logger.error("分发binlog事件失败:{}", e.getMessage());
+                    unsubscribe(s);
+                }
+            }
+
+            if (event instanceof XidEvent || event instanceof RotateEvent) {
+                onBoundary((AbstractBinlogEventV4) event);
+                atBoundary = true;
+                return;
+            }
+            if (event instanceof QueryEvent) {
+                QueryEvent e = (QueryEvent) event;
+                if (null != e.getSql() && StringUtils.equalsIgnoreCase(COMMIT, e.getSql().toString())) {
+                    onBoundary(e);
+                    atBoundary = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 拦截器随订阅者变化替换, 解析线程读取最新的拦截器
+     */
+    static final class HubRowEventFilter implements BinlogRowEventFilter, BinlogColumnProjection {
+
+        private final BinlogRowEventFilter acceptAll = new BinlogRowEventFilterImpl();
+
+        private volatile TableRowEventFilterImpl delegate;
+
+        @Override
+        public boolean accepts(BinlogEventV4Header header, BinlogParserContext context, TableMapEvent event) {
+            TableRowEventFilterImpl f = delegate;
+            return null == f ? acceptAll.accepts(header, context, event) : f.accepts(header, context, event);
+        }
+
+        @Override
+        public BitSet getColumns(TableMapEvent event) {
+            TableRowEventFilterImpl f = delegate;
+            return null == f ? null : f.getColumns(event);
+        }
+
+        @Override
+        public RowPredicate getPredicate(TableMapEvent event) {
+            TableRowEventFilterImpl f = delegate;
+            return null == f ? null : f.getPredicate(event);
+        }
+    }
+
+    /**
+     * 订阅者
+     */
+    public abstract static class Subscription {
+
+        private String ip;
+        private int port;
+        private String username;
+        private String password;
+        private boolean nioTransport;
+        private String database;
+        private Set<String> tables;
+        private Map<String, BitSet> columns;
+        private Map<String, RowPredicate> predicates;
+
+        /**
+         * 订阅者的增量点, 为空时从当前读取位置开始
+         */
+        private String binlogFileName;
+        private long binlogPosition;
+
+        /**
+         * 加入时增量点之前的事件不分发(仅解析线程访问)
+         */
+        private boolean gated = true;
+
+        /**
+         * 接收事件(解析线程)
+         *
+         * @param event
+         */
+        protected abstract void onEvent(BinlogEventV4 event);
+
+        /**
+         * 增量点早于共享连接的读取位置, 没有加入(解析线程)
+         */
+        protected abstract void onLagging();
+
+        /**
+         * 共享连接异常断开, 已取消订阅(解析线程)
+         */
+        protected abstract void onStop();
+
+        void deliver(BinlogEventV4 event) {
+            if (gated) {
+                if (StringUtils.isNotBlank(binlogFileName) && event instanceof AbstractBinlogEventV4) {
+                    final AbstractBinlogEventV4 e = (AbstractBinlogEventV4) event;
+                    final long nextPosition = e.getHeader().getNextPosition();
+                    if (0 == nextPosition || compare(e.getBinlogFilename(), nextPosition, binlogFileName, binlogPosition) <= 0) {
+                        return;
+                    }
+                }
+                gated = false;
+            }
+            onEvent(event);
+        }
+
+        boolean isNotBefore(String fileName, long position) {
+            return StringUtils.isBlank(binlogFileName) || compare(binlogFileName, binlogPosition, fileName, position) >= 0;
+        }
+
+        public String getIp() {
+            return ip;
+        }
+
+        public void setIp(String ip) {
+            this.ip = ip;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public boolean isNioTransport() {
+            return nioTransport;
+        }
+
+        public void setNioTransport(boolean nioTransport) {
+            this.nioTransport = nioTransport;
+        }
+
+        public String getDatabase() {
+            return database;
+        }
+
+        public void setDatabase(String database) {
+            this.database = database;
+        }
+
+        public Set<String> getTables() {
+            return tables;
+        }
+
+        public void setTables(Set<String> tables) {
+            this.tables = tables;
+        }
+
+        public Map<String, BitSet> getColumns() {
+            return columns;
+        }
+
+        public void setColumns(Map<String, BitSet> columns) {
+            this.columns = columns;
+        }
+
+        public Map<String, RowPredicate> getPredicates() {
+            return predicates;
+        }
+
+        public void setPredicates(Map<String, RowPredicate> predicates) {
+            this.predicates = predicates;
+        }
+
+        public String getBinlogFileName() {
+            return binlogFileName;
+        }
+
+        public void setBinlogFileName(String binlogFileName) {
+            this.binlogFileName = binlogFileName;
+        }
+
+        public long getBinlogPosition() {
+            return binlogPosition;
+        }
+
+        public void setBinlogPosition(long binlogPosition) {
+            this.binlogPosition = binlogPosition;
+        }
+    }
+}
@@ -15,19 +15,28 @@
  */
 package io.mykit.data.monitor.mysql;
 
+import io.mykit.data.common.event.RowChangedEvent;
+import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.constants.ConnectorConstants;
 import io.mykit.data.monitor.AbstractExtractor;
+import io.mykit.data.monitor.buffer.BatchEventProcessor;
+import io.mykit.data.monitor.buffer.EventHandler;
+import io.mykit.data.monitor.buffer.RingBuffer;
+import io.mykit.data.monitor.buffer.WaitStrategy;
 import io.mykit.data.monitor.config.Host;
+import io.mykit.data.monitor.enums.WaitStrategyEnum;
 import io.mykit.data.monitor.exception.ListenerException;
 import io.mykit.data.monitor.mysql.binlog.BinlogEventListener;
 import io.mykit.data.monitor.mysql.binlog.BinlogEventV4;
 import io.mykit.data.monitor.mysql.binlog.BinlogRemoteClient;
+import io.mykit.data.monitor.mysql.binlog.impl.filter.TableRowEventFilterImpl;
 import io.mykit.data.monitor.mysql.binlog.impl.event.*;
 import io.mykit.data.monitor.mysql.common.glossary.Column;
 import io.mykit.data.monitor.mysql.common.glossary.Pair;
 import io.mykit.data.monitor.mysql.common.glossary.Row;
 import io.mykit.data.monitor.mysql.common.glossary.column.StringColumn;
+import io.mykit.data.monitor.mysql.common.util.XThreadFactory;
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -35,6 +44,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 
 import static java.util.regex.Pattern.compile;
@@ -50,9 +61,34 @@ public class MysqlExtractor extends AbstractExtractor {
 
     private static final String BINLOG_FILENAME = "fileName";
     private static final String BINLOG_POSITION = "position";
-    private BinlogRemoteClient client;
+    private static final String COMMIT = "COMMIT";
+    private BinlogStreamHub hub;
+    private BinlogStreamHub.Subscription subscription;
+    /**
+     * 增量点落后于共享连接时单独读取的复制连接
+     */
+    private volatile BinlogRemoteClient client;
+    private RingBuffer<TransactionSlot> ringBuffer;
+    private BatchEventProcessor<TransactionSlot> processor;
     private List<Host> cluster;
     private int master = 0;
+    private String database;
+    private String threadSuffixName;
+    private volatile boolean closed;
+
+    /**
+     * 最近一个事务的位置(解析线程访问)
+     */
+    private String binlogFileName;
+    private long binlogPosition;
+
+    /**
+     * 最近一个已发布到缓冲区的增量点(解析线程访问), 脱离共享连接时从这里单独读取
+     */
+    private String publishedFileName;
+    private long publishedPosition;
+
+    private final AtomicLong detachCount = new AtomicLong();
 
     @Override
     public void start() {
@@ -62,37 +98,160 @@ public class MysqlExtractor extends AbstractExtractor {
             Assert.notEmpty(cluster, "Mysql连接地址有误.");
 
             final Host host = cluster.get(master);
-            final String username = config.getUsername();
-            final String password = config.getPassword();
+            database = readDatabase(config.getUrl());
             // mysql-binlog-127.0.0.1:3306-654321
-            final String threadSuffixName = new StringBuilder("mysql-binlog-")
+            threadSuffixName = new StringBuilder("mysql-binlog-")
                     .append(host.getIp()).append(":").append(host.getPort()).append("-")
                     .append(RandomStringUtils.randomNumeric(6))
                     .toString();
 
-            client = new BinlogRemoteClient(host.getIp(), host.getPort(), username, password, threadSuffixName);
-            client.setBinlogFileName(map.get(BINLOG_FILENAME));
+            binlogFileName = map.get(BINLOG_FILENAME);
             String pos = map.get(BINLOG_POSITION);
-            client.setBinlogPosition(StringUtils.isBlank(pos) ? 0 : Long.parseLong(pos));
-            client.setBinlogEventListener(new MysqlEventListener());
-            client.start();
+            binlogPosition = StringUtils.isBlank(pos) ? 0 : Long.parseLong(pos);
+            publishedFileName = binlogFileName;
+            publishedPosition = binlogPosition;
+
+            // 解析线程只负责解析, 通过缓冲区交给写入线程, 写入变慢时不阻塞binlog读取
+            WaitStrategy waitStrategy = WaitStrategyEnum.getWaitStrategy(listenerConfig.getWaitStrategy());
+            ringBuffer = new RingBuffer<>(TransactionSlot::new, listenerConfig.getBufferSize(), waitStrategy);
+            processor = new BatchEventProcessor<>(ringBuffer, new TransactionEventHandler(), this::onApplyError);
+            processor.start(threadSuffixName + "-apply");
+
+            // 同一个实例的驱动共享复制连接, 增量点已落后时单独读取
+            subscription = new HubSubscription(host, config.getUsername(), config.getPassword());
+            hub = BinlogStreamHub.subscribe(subscription);
+            if (null == hub) {
+                subscription = null;
+                startClient(binlogFileName, binlogPosition);
+            }
         } catch (Exception e) {
             logger.error("启动失败:{}", e.getMessage());
             throw new ListenerException(e);
         }
     }
 
+    /**
+     * 单独读取binlog
+     *
+     * @param fileName
+     * @param position
+     * @throws Exception
+     */
+    private void startClient(String fileName, long position) throws Exception {
+        final DatabaseConfig config = (DatabaseConfig) connectorConfig;
+        final Host host = cluster.get(master);
+        BinlogRemoteClient c = new BinlogRemoteClient(host.getIp(), host.getPort(), config.getUsername(), config.getPassword(), threadSuffixName);
+        c.setBinlogFileName(fileName);
+        c.setBinlogPosition(position);
+        c.setServerId(BinlogStreamHub.nextServerId());
+        c.setBinlogEventListener(new MysqlEventListener(false));
+        c.setNioTransport(listenerConfig.isNioTransport());
+        // 只解析驱动表的行事件, 其他表在解码行数据之前跳过
+        if (!CollectionUtils.isEmpty(sourceTableNames)) {
+            TableRowEventFilterImpl filter = new TableRowEventFilterImpl(database, sourceTableNames, sourceTableColumns, sourceTablePredicates);
+            c.setFilter(filter);
+            // 只解码映射的字段, 其他列按编码长度跳过; 提前判断过滤条件, 不满足的行不再解码
+            c.setColumnProjection(filter);
+        }
+        client = c;
+        c.start();
+        if (closed) {
+            c.stopQuietly();
+        }
+    }
+
+    /**
+     * 写入跟不上共享连接(缓冲区已满)或者加入时增量点已落后: 退出共享连接, 从已发布的增量点单独读取, 不阻塞其他驱动
+     */
+    private void detach() {
+        if (null != hub) {
+            hub.unsubscribe(subscription);
+        }
+        detachCount.incrementAndGet();
+        binlogFileName = publishedFileName;
+        binlogPosition = publishedPosition;
+        final String fileName = publishedFileName;
+        final long position = publishedPosition;
+        logger.warn("退出binlog共享连接, 单独读取 binlogFileName:{}, binlogPosition:{}", fileName, position);
+
+        // 在当前解析线程之外启动
+        new XThreadFactory(threadSuffixName + "-detach", true).newThread(() -> {
+            if (closed) {
+                return;
+            }
+            try {
+                startClient(fileName, position);
+            } catch (Exception e) {
+                logger.error("单独读取binlog失败:{}", e.getMessage());
+                errorEvent(e);
+            }
+        }).start();
+    }
+
+    /**
+     * 写入线程处理事务失败: 增量点不再更新, 停止读取binlog(在写入线程之外关闭)
+     *
+     * @param e
+     */
+    private void onApplyError(Exception e) {
+        errorEvent(e);
+        new XThreadFactory(threadSuffixName + "-close", true).newThread(this::close).start();
+    }
+
     @Override
     public void close() {
         try {
-            if (null != client) {
-                client.stopQuietly();
+            closed = true;
+            if (null != hub) {
+                hub.unsubscribe(subscription);
+            }
+            BinlogRemoteClient c = client;
+            if (null != c) {
+                c.stopQuietly();
+            }
+            if (null != processor) {
+                processor.halt();
             }
         } catch (Exception e) {
             logger.error("关闭失败:{}", e.getMessage());
         }
     }
 
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = super.getMetrics();
+        if (null != ringBuffer) {
+            metrics.put("缓冲区大小", ringBuffer.getBufferSize());
+            metrics.put("缓冲区占用", ringBuffer.size());
+            metrics.put("已发布事务", ringBuffer.getPublished());
+            metrics.put("写入批次", processor.getBatchCount());
+            metrics.put("读取等待次数", ringBuffer.getWaitCount());
+            metrics.put("读取等待耗时(ms)", TimeUnit.NANOSECONDS.toMillis(ringBuffer.getWaitNanos()));
+        }
+        if (null != hub) {
+            metrics.put("共享连接", hub.getName());
+            metrics.put("共享连接订阅数", hub.getSubscriberCount());
+            metrics.put("共享连接事件数", hub.getDispatched());
+        }
+        metrics.put("单独读取", null != client);
+        metrics.put("退出共享连接次数", detachCount.get());
+        return metrics;
+    }
+
+    /**
+     * jdbc:mysql://127.0.0.1:3306/test?useSSL=false => test
+     *
+     * @param url
+     * @return 未指定库名时返回null
+     */
+    private String readDatabase(String url) {
+        if (StringUtils.isBlank(url)) {
+            return null;
+        }
+        Matcher matcher = compile("//[^/]+/([^?;]+)").matcher(url);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
     private List<Host> readNodes(String url) {
         if (StringUtils.isBlank(url)) {
             return Collections.EMPTY_LIST;
@@ -120,28 +279,100 @@ public class MysqlExtractor extends AbstractExtractor {
      * 有变化触发刷新binlog增量事件
      *
      * @param event
+     * @return 更新增量点(在之前的事务写入完成后执行)
      */
-    private void refresh(AbstractBinlogEventV4 event) {
+    private Runnable refresh(AbstractBinlogEventV4 event) {
         String binlogFilename = event.getBinlogFilename();
         long nextPosition = event.getHeader().getNextPosition();
 
         // binlogFileName
-        if (StringUtils.isNotBlank(binlogFilename) && !StringUtils.equals(binlogFilename, client.getBinlogFileName())) {
-            client.setBinlogFileName(binlogFilename);
+        if (StringUtils.isNotBlank(binlogFilename)) {
+            binlogFileName = binlogFilename;
         }
-        client.setBinlogPosition(nextPosition);
+        binlogPosition = nextPosition;
 
         // nextPosition
-        map.put(BINLOG_FILENAME, client.getBinlogFileName());
-        map.put(BINLOG_POSITION, String.valueOf(client.getBinlogPosition()));
+        final String fileName = binlogFileName;
+        final String position = String.valueOf(binlogPosition);
+        return () -> {
+            synchronized (map) {
+                map.put(BINLOG_FILENAME, fileName);
+                map.put(BINLOG_POSITION, position);
+            }
+        };
+    }
+
+    /**
+     * 共享连接的订阅者, 库表/列/过滤条件取当前驱动的配置
+     */
+    final class HubSubscription extends BinlogStreamHub.Subscription {
+
+        private final MysqlEventListener listener = new MysqlEventListener(true);
+
+        HubSubscription(Host host, String username, String password) {
+            setIp(host.getIp());
+            setPort(host.getPort());
+            setUsername(username);
+            setPassword(password);
+            setNioTransport(listenerConfig.isNioTransport());
+            setDatabase(database);
+            setTables(sourceTableNames);
+            setColumns(sourceTableColumns);
+            setPredicates(sourceTablePredicates);
+            setBinlogFileName(binlogFileName);
+            setBinlogPosition(binlogPosition);
+        }
+
+        @Override
+        protected void onEvent(BinlogEventV4 event) {
+            if (!closed) {
+                listener.onEvents(event);
+            }
+        }
+
+        @Override
+        protected void onLagging() {
+            detach();
+        }
+
+        @Override
+        protected void onStop() {
+            // 共享连接断开, 从已发布的增量点单独读取
+            detach();
+        }
     }
 
     final class MysqlEventListener implements BinlogEventListener {
 
         private Map<Long, String> table = new HashMap<>();
 
+        /**
+         * 共享连接: 缓冲区已满时退出共享连接, 不阻塞其他驱动
+         */
+        private final boolean shared;
+
+        /**
+         * 当前事务已经有行事件提前发布(超过最大行数)
+         */
+        private boolean spilled;
+
+        private boolean detached;
+
+        private final int maxTransactionSize = Math.max(1, listenerConfig.getMaxTransactionSize());
+
+        private List<RowChangedEvent> transaction = new ArrayList<>();
+
+        private int transactionSize;
+
+        MysqlEventListener(boolean shared) {
+            this.shared = shared;
+        }
+
         @Override
         public void onEvents(BinlogEventV4 event) {
+            if (detached) {
+                return;
+            }
             if (event == null) {
                 logger.error("binlog event is null");
                 return;
@@ -157,14 +388,17 @@ public class MysqlExtractor extends AbstractExtractor {
                 UpdateRowsEventV2 e = (UpdateRowsEventV2) event;
                 final String tableName = table.get(e.getTableId());
                 List<Pair<Row>> rows = e.getRows();
+                if (rows.isEmpty()) {
+                    // 所有行都被过滤
+                    return;
+                }
+                List<List<Object>> before = new ArrayList<>(rows.size());
+                List<List<Object>> after = new ArrayList<>(rows.size());
                 for (Pair<Row> p : rows) {
-                    List<Object> before = new ArrayList<>();
-                    List<Object> after = new ArrayList<>();
-                    addAll(before, p.getBefore().getColumns());
-                    addAll(after, p.getAfter().getColumns());
-                    changedLogEvent(tableName, ConnectorConstants.OPERTION_UPDATE, before, after);
-                    break;
+                    before.add(getColumns(p.getBefore()));
+                    after.add(getColumns(p.getAfter()));
                 }
+                append(new RowChangedEvent(tableName, ConnectorConstants.OPERTION_UPDATE, before, after));
                 return;
             }
 
@@ -172,12 +406,16 @@ public class MysqlExtractor extends AbstractExtractor {
                 WriteRowsEventV2 e = (WriteRowsEventV2) event;
                 final String tableName = table.get(e.getTableId());
                 List<Row> rows = e.getRows();
+                if (rows.isEmpty()) {
+                    return;
+                }
+                List<List<Object>> before = new ArrayList<>(rows.size());
+                List<List<Object>> after = new ArrayList<>(rows.size());
                 for (Row row : rows) {
-                    List<Object> after = new ArrayList<>();
-                    addAll(after, row.getColumns());
-                    changedLogEvent(tableName, ConnectorConstants.OPERTION_INSERT, Collections.EMPTY_LIST, after);
-                    break;
+                    before.add(Collections.EMPTY_LIST);
+                    after.add(getColumns(row));
                 }
+                append(new RowChangedEvent(tableName, ConnectorConstants.OPERTION_INSERT, before, after));
                 return;
             }
 
@@ -185,32 +423,122 @@ public class MysqlExtractor extends AbstractExtractor {
                 DeleteRowsEventV2 e = (DeleteRowsEventV2) event;
                 final String tableName = table.get(e.getTableId());
                 List<Row> rows = e.getRows();
+                if (rows.isEmpty()) {
+                    return;
+                }
+                List<List<Object>> before = new ArrayList<>(rows.size());
+                List<List<Object>> after = new ArrayList<>(rows.size());
                 for (Row row : rows) {
-                    List<Object> before = new ArrayList<>();
-                    addAll(before, row.getColumns());
-                    changedLogEvent(tableName, ConnectorConstants.OPERTION_DELETE, before, Collections.EMPTY_LIST);
-                    break;
+                    before.add(getColumns(row));
+                    after.add(Collections.EMPTY_LIST);
                 }
+                append(new RowChangedEvent(tableName, ConnectorConstants.OPERTION_DELETE, before, after));
                 return;
             }
 
             // 处理事件优先级：RotateEvent > FormatDescriptionEvent > TableMapEvent > RowsEvent > XidEvent
             if (event instanceof XidEvent) {
-                refresh((XidEvent) event);
+                commit(refresh((XidEvent) event));
+                return;
+            }
+
+            // 非事务引擎以COMMIT语句结束
+            if (event instanceof QueryEvent) {
+                QueryEvent e = (QueryEvent) event;
+                if (null != e.getSql() && StringUtils.equalsIgnoreCase(COMMIT, e.getSql().toString())) {
+                    commit(refresh(e));
+                }
                 return;
             }
 
             // 切换binlog
             if (event instanceof RotateEvent) {
-                refresh((RotateEvent) event);
+                commit(refresh((RotateEvent) event));
                 return;
             }
 
         }
 
-        private void addAll(List<Object> before, List<Column> columns) {
-            columns.forEach(c -> before.add((c instanceof StringColumn) ? c.toString() : c.getValue()));
+        /**
+         * 缓存事务内的行事件, 超过最大行数时先提交
+         *
+         * @param rowChangedEvent
+         */
+        private void append(RowChangedEvent rowChangedEvent) {
+            transaction.add(rowChangedEvent);
+            transactionSize += rowChangedEvent.size();
+            if (transactionSize >= maxTransactionSize) {
+                commit(null);
+            }
         }
 
+        /**
+         * 提交事务内的行事件, 写入完成后更新增量点
+         *
+         * @param checkpoint
+         */
+        private void commit(Runnable checkpoint) {
+            if (transaction.isEmpty() && null == checkpoint) {
+                return;
+            }
+            // 发布到缓冲区, 缓冲区已满时等待; 共享连接不等待, 退出后单独读取(事务已部分发布时只能等待)
+            long sequence;
+            if (shared && !spilled) {
+                sequence = ringBuffer.tryNext();
+                if (sequence < 0) {
+                    detached = true;
+                    transaction = new ArrayList<>();
+                    transactionSize = 0;
+                    detach();
+                    return;
+                }
+            } else {
+                sequence = ringBuffer.next();
+            }
+
+            List<RowChangedEvent> events = transaction;
+            transaction = new ArrayList<>();
+            transactionSize = 0;
+            TransactionSlot slot = ringBuffer.get(sequence);
+            slot.events = events;
+            slot.checkpoint = checkpoint;
+            ringBuffer.publish(sequence);
+
+            spilled = null == checkpoint;
+            if (!spilled) {
+                publishedFileName = binlogFileName;
+                publishedPosition = binlogPosition;
+            }
+        }
+
+        private List<Object> getColumns(Row row) {
+            List<Column> columns = row.getColumns();
+            List<Object> list = new ArrayList<>(columns.size());
+            // 未映射的列解析时已跳过(null占位)
+            columns.forEach(c -> list.add(null == c ? null : (c instanceof StringColumn) ? c.toString() : c.getValue()));
+            return list;
+        }
+
+    }
+
+    /**
+     * 缓冲区槽位(预分配, 循环复用)
+     */
+    static final class TransactionSlot {
+        List<RowChangedEvent> events;
+        Runnable checkpoint;
+    }
+
+    final class TransactionEventHandler implements EventHandler<TransactionSlot> {
+
+        @Override
+        public void onEvent(TransactionSlot slot, long sequence, boolean endOfBatch) {
+            List<RowChangedEvent> events = slot.events;
+            Runnable checkpoint = slot.checkpoint;
+            // 释放引用, 槽位复用前可以被回收
+            slot.events = null;
+            slot.checkpoint = null;
+            changedLogTransactionEvent(events, checkpoint);
+        }
     }
 }
@@ -0,0 +1,25 @@
+package io.mykit.data.monitor.mysql.binlog;
+
+
+import io.mykit.data.monitor.filter.RowPredicate;
+import io.mykit.data.monitor.mysql.binlog.impl.event.TableMapEvent;
+
+import java.util.BitSet;
+
+/**
+ * 行事件的列裁剪和行过滤, 未选中的列和不满足过滤条件的行在解析时按编码长度跳过, 不创建Column对象
+ */
+public interface BinlogColumnProjection {
+
+    /**
+     * @param event
+     * @return 需要解析的列序号(表字段顺序), 返回null时解析所有列
+     */
+    BitSet getColumns(TableMapEvent event);
+
+    /**
+     * @param event
+     * @return 行过滤条件, 返回null时不过滤
+     */
+    RowPredicate getPredicate(TableMapEvent event);
+}
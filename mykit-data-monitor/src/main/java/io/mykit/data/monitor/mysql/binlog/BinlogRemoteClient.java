@@ -9,6 +9,7 @@ import io.mykit.data.monitor.mysql.net.Packet;
 import io.mykit.data.monitor.mysql.net.Transport;
 import io.mykit.data.monitor.mysql.net.TransportException;
 import io.mykit.data.monitor.mysql.net.impl.AuthenticatorImpl;
+import io.mykit.data.monitor.mysql.net.impl.ChannelTransportImpl;
 import io.mykit.data.monitor.mysql.net.impl.Query;
 import io.mykit.data.monitor.mysql.net.impl.TransportImpl;
 import io.mykit.data.monitor.mysql.net.impl.packet.ErrorPacket;
@@ -49,6 +50,7 @@ public class BinlogRemoteClient {
     protected Float heartbeatPeriod;
     protected Transport transport;
     protected BinlogRowEventFilter filter;
+    protected BinlogColumnProjection columnProjection;
     protected ReplicationBasedBinlogParser binlogParser;
     protected List<BinlogParserListener> binlogParserListener = new CopyOnWriteArrayList<BinlogParserListener>();
     protected BinlogEventListener binlogEventListener;
@@ -59,6 +61,8 @@ public class BinlogRemoteClient {
     protected int level1BufferSize = 1024 * 1024;
     protected int level2BufferSize = 8 * 1024 * 1024;
     protected int socketReceiveBufferSize = 512 * 1024;
+    // 使用SocketChannel + 直接内存缓冲区读取, 缓冲区大小取level1BufferSize
+    protected boolean nioTransport = false;
     protected final AtomicBoolean running = new AtomicBoolean(false);
 
     public BinlogRemoteClient() {
@@ -145,14 +149,24 @@ public class BinlogRemoteClient {
     }
 
     private Transport getDefaultTransport() throws Exception {
-        final TransportImpl r = new TransportImpl();
-        r.setLevel1BufferSize(this.level1BufferSize);
-        r.setLevel2BufferSize(this.level2BufferSize);
-
         final AuthenticatorImpl authenticator = new AuthenticatorImpl();
         authenticator.setUser(this.user);
         authenticator.setPassword(this.password);
         authenticator.setEncoding(this.encoding);
+
+        if (this.nioTransport) {
+            final ChannelTransportImpl r = new ChannelTransportImpl();
+            r.setBufferSize(this.level1BufferSize);
+            r.setKeepAlive(true);
+            r.setTcpNoDelay(false);
+            r.setReceiveBufferSize(this.socketReceiveBufferSize);
+            r.setAuthenticator(authenticator);
+            return r;
+        }
+
+        final TransportImpl r = new TransportImpl();
+        r.setLevel1BufferSize(this.level1BufferSize);
+        r.setLevel2BufferSize(this.level2BufferSize);
         r.setAuthenticator(authenticator);
 
         final SocketFactoryImpl socketFactory = new SocketFactoryImpl();
@@ -235,9 +249,9 @@ public class BinlogRemoteClient {
         r.registerEventParser(new FormatDescriptionEventParser());
         r.registerEventParser(new XidEventParser());
         r.registerEventParser(new TableMapEventParser());
-        r.registerEventParser(new WriteRowsEventV2Parser().setRowEventFilter(filter));
-        r.registerEventParser(new UpdateRowsEventV2Parser().setRowEventFilter(filter));
-        r.registerEventParser(new DeleteRowsEventV2Parser().setRowEventFilter(filter));
+        r.registerEventParser(new WriteRowsEventV2Parser().setRowEventFilter(filter).setColumnProjection(columnProjection));
+        r.registerEventParser(new UpdateRowsEventV2Parser().setRowEventFilter(filter).setColumnProjection(columnProjection));
+        r.registerEventParser(new DeleteRowsEventV2Parser().setRowEventFilter(filter).setColumnProjection(columnProjection));
         return r;
     }
 
@@ -348,6 +362,16 @@ public class BinlogRemoteClient {
     }
 
 
+    public boolean isNioTransport() {
+        return nioTransport;
+    }
+
+
+    public void setNioTransport(boolean nioTransport) {
+        this.nioTransport = nioTransport;
+    }
+
+
     public Transport getTransport() {
         return transport;
     }
@@ -362,6 +386,10 @@ public class BinlogRemoteClient {
         this.filter = filter;
     }
 
+    public void setColumnProjection(BinlogColumnProjection columnProjection) {
+        this.columnProjection = columnProjection;
+    }
+
     public BinlogParser getBinlogParser() {
         return binlogParser;
     }
@@ -0,0 +1,126 @@
+package io.mykit.data.monitor.mysql.binlog.impl.filter;
+
+
+import io.mykit.data.monitor.filter.RowPredicate;
+import io.mykit.data.monitor.mysql.binlog.BinlogColumnProjection;
+import io.mykit.data.monitor.mysql.binlog.BinlogEventV4Header;
+import io.mykit.data.monitor.mysql.binlog.BinlogParserContext;
+import io.mykit.data.monitor.mysql.binlog.BinlogRowEventFilter;
+import io.mykit.data.monitor.mysql.binlog.impl.event.TableMapEvent;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h3>库表白名单拦截器</h3>
+ * <ol type="1">
+ * <li><dt>只接受驱动表的行事件, 其他表的行事件在解析行数据之前跳过</dt></li>
+ * <li><dt>库名为空时只匹配表名, 库名和表名不区分大小写</dt></li>
+ * <li><dt>按表配置需要解码的列, 其他列跳过</dt></li>
+ * <li><dt>按表配置行过滤条件, 不满足条件的行跳过剩余的列</dt></li>
+ * </ol>
+ */
+public class TableRowEventFilterImpl implements BinlogRowEventFilter, BinlogColumnProjection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableRowEventFilterImpl.class);
+
+    private final String database;
+
+    private final Set<String> tables = new HashSet<>();
+
+    private final Map<String, BitSet> columns = new HashMap<>();
+
+    private final Map<String, RowPredicate> predicates = new HashMap<>();
+
+    /**
+     * 解析线程独占, 每个事务都会重新收到TableMapEvent, tableId对应的库表名不变时复用判断结果
+     */
+    private final Map<Long, Decision> decisions = new HashMap<>();
+
+    public TableRowEventFilterImpl(String database, Collection<String> tables) {
+        this(database, tables, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * @param database
+     * @param tables
+     * @param columns  表名 => 需要解码的列序号, 未配置的表解码所有列
+     * @param predicates 表名 => 行过滤条件, 未配置的表不过滤
+     */
+    public TableRowEventFilterImpl(String database, Collection<String> tables, Map<String, BitSet> columns, Map<String, RowPredicate> predicates) {
+        this.database = StringUtils.isBlank(database) ? null : database.toLowerCase();
+        for (String table : tables) {
+            this.tables.add(table.toLowerCase());
+        }
+        columns.forEach((table, c) -> this.columns.put(table.toLowerCase(), c));
+        predicates.forEach((table, p) -> this.predicates.put(table.toLowerCase(), p));
+    }
+
+    public boolean accepts(BinlogEventV4Header header, BinlogParserContext context, TableMapEvent event) {
+        if (event == null) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("failed to find TableMapEvent, header: {}", header);
+            }
+            return false;
+        }
+
+        return getDecision(event).accepted;
+    }
+
+    @Override
+    public BitSet getColumns(TableMapEvent event) {
+        return getDecision(event).columns;
+    }
+
+    @Override
+    public RowPredicate getPredicate(TableMapEvent event) {
+        return getDecision(event).predicate;
+    }
+
+    private Decision getDecision(TableMapEvent event) {
+        Decision decision = decisions.get(event.getTableId());
+        if (decision == null || !decision.isSameTable(event)) {
+            final boolean accepted = matches(event);
+            final String tableName = event.getTableName().toString().toLowerCase();
+            decision = new Decision(event, accepted, accepted ? columns.get(tableName) : null, accepted ? predicates.get(tableName) : null);
+            decisions.put(event.getTableId(), decision);
+        }
+        return decision;
+    }
+
+    private boolean matches(TableMapEvent event) {
+        if (null != database && !StringUtils.equalsIgnoreCase(database, event.getDatabaseName().toString())) {
+            return false;
+        }
+        return tables.contains(event.getTableName().toString().toLowerCase());
+    }
+
+    private static final class Decision {
+        private final byte[] databaseName;
+        private final byte[] tableName;
+        private final boolean accepted;
+        private final BitSet columns;
+        private final RowPredicate predicate;
+
+        Decision(TableMapEvent event, boolean accepted, BitSet columns, RowPredicate predicate) {
+            this.databaseName = event.getDatabaseName().getValue();
+            this.tableName = event.getTableName().getValue();
+            this.accepted = accepted;
+            this.columns = columns;
+            this.predicate = predicate;
+        }
+
+        boolean isSameTable(TableMapEvent event) {
+            return Arrays.equals(tableName, event.getTableName().getValue()) && Arrays.equals(databaseName, event.getDatabaseName().getValue());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.mykit.data.monitor.mysql.binlog.impl.parser;
 
 
+import io.mykit.data.monitor.filter.RowPredicate;
+import io.mykit.data.monitor.mysql.binlog.BinlogColumnProjection;
 import io.mykit.data.monitor.mysql.binlog.BinlogRowEventFilter;
 import io.mykit.data.monitor.mysql.binlog.impl.event.TableMapEvent;
 import io.mykit.data.monitor.mysql.binlog.impl.filter.BinlogRowEventFilterImpl;
@@ -15,10 +17,12 @@ import io.mykit.data.monitor.mysql.io.XInputStream;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public abstract class AbstractRowEventParser extends AbstractBinlogEventParser {
     protected BinlogRowEventFilter rowEventFilter;
+    protected BinlogColumnProjection columnProjection;
 
     public AbstractRowEventParser(int eventType) {
         super(eventType);
@@ -34,15 +38,43 @@ public abstract class AbstractRowEventParser extends AbstractBinlogEventParser {
         return this;
     }
 
+    public BinlogColumnProjection getColumnProjection() {
+        return columnProjection;
+    }
+
+    public AbstractRowEventParser setColumnProjection(BinlogColumnProjection projection) {
+        this.columnProjection = projection;
+        return this;
+    }
+
     protected Row parseRow(XInputStream is, TableMapEvent tme, BitColumn usedColumns)
             throws IOException {
+        return parseRow(is, tme, usedColumns, false);
+    }
+
+    /**
+     * @param filter 是否按行过滤条件提前判断, 过滤条件用到的列解析完后判断, 不满足时跳过剩余的列并返回null
+     */
+    protected Row parseRow(XInputStream is, TableMapEvent tme, BitColumn usedColumns, boolean filter)
+            throws IOException {
         int unusedColumnCount = 0;
         final byte[] types = tme.getColumnTypes();
         final Metadata metadata = tme.getColumnMetadata();
         final int nColumnsUsed = usedColumns.getSetBitCount();
         final BitColumn nullColumns = is.readBit(nColumnsUsed);
         final List<Column> columns = new ArrayList<Column>(nColumnsUsed);
+        final BitSet projection = this.columnProjection == null ? null : this.columnProjection.getColumns(tme);
+        final RowPredicate predicate = filter && this.columnProjection != null ? this.columnProjection.getPredicate(tme) : null;
+        final Object[] values = predicate == null ? null : new Object[types.length];
+        final int last = predicate == null ? -1 : predicate.getColumns().length() - 1;
+        boolean evaluated = predicate == null;
+        boolean rejected = false;
         for (int i = 0; i < types.length; ++i) {
+            if (!evaluated && i > last) {
+                evaluated = true;
+                rejected = !predicate.test(values);
+            }
+
             int length = 0;
             final int meta = metadata.getMetadata(i);
             int type = CodecUtils.toUnsigned(types[i]);
@@ -72,6 +104,11 @@ public abstract class AbstractRowEventParser extends AbstractBinlogEventParser {
             } else if (nullColumns.get(i - unusedColumnCount)) {
                 columns.add(NullColumn.valueOf(type));
                 continue;
+            } else if (rejected || (projection != null && !projection.get(i))) {
+                // 不需要的列(或已被过滤的行)只跳过编码长度, 保留占位
+                skipColumn(is, type, meta, length);
+                columns.add(null);
+                continue;
             }
 
             switch (type) {
@@ -177,7 +214,80 @@ public abstract class AbstractRowEventParser extends AbstractBinlogEventParser {
                 default:
                     throw new RuntimeException("assertion failed, unknown column type: " + type);
             }
+
+            if (!evaluated && predicate.getColumns().get(i)) {
+                final Column c = columns.get(columns.size() - 1);
+                values[i] = c == null ? null : (c instanceof StringColumn) ? c.toString() : c.getValue();
+            }
+        }
+        if (!evaluated) {
+            rejected = !predicate.test(values);
+        }
+        return rejected ? null : new Row(columns);
+    }
+
+    /**
+     * 按类型计算列的编码长度并跳过, 与parseRow的读取保持一致
+     */
+    protected void skipColumn(XInputStream is, int type, int meta, int length) throws IOException {
+        switch (type) {
+            case MySQLConstants.TYPE_TINY:
+            case MySQLConstants.TYPE_YEAR:
+                is.skip(1);
+                break;
+            case MySQLConstants.TYPE_SHORT:
+                is.skip(2);
+                break;
+            case MySQLConstants.TYPE_INT24:
+            case MySQLConstants.TYPE_DATE:
+            case MySQLConstants.TYPE_TIME:
+                is.skip(3);
+                break;
+            case MySQLConstants.TYPE_LONG:
+            case MySQLConstants.TYPE_FLOAT:
+            case MySQLConstants.TYPE_TIMESTAMP:
+                is.skip(4);
+                break;
+            case MySQLConstants.TYPE_LONGLONG:
+            case MySQLConstants.TYPE_DOUBLE:
+            case MySQLConstants.TYPE_DATETIME:
+                is.skip(8);
+                break;
+            case MySQLConstants.TYPE_ENUM:
+            case MySQLConstants.TYPE_SET:
+                is.skip(length);
+                break;
+            case MySQLConstants.TYPE_BIT:
+                final int bitLength = (meta >> 8) * 8 + (meta & 0xFF);
+                is.skip((bitLength + 7) >> 3);
+                break;
+            case MySQLConstants.TYPE_BLOB:
+                is.skip(is.readInt(meta));
+                break;
+            case MySQLConstants.TYPE_GEOMETRY:
+                // 与parseRow一致, 暂时不考虑该类型实现
+                break;
+            case MySQLConstants.TYPE_NEWDECIMAL:
+                is.skip(MySQLUtils.getDecimalBinarySize(meta & 0xFF, meta >> 8));
+                break;
+            case MySQLConstants.TYPE_STRING:
+                is.skip(length < 256 ? is.readInt(1) : is.readInt(2));
+                break;
+            case MySQLConstants.TYPE_VARCHAR:
+            case MySQLConstants.TYPE_VAR_STRING:
+                is.skip(meta < 256 ? is.readInt(1) : is.readInt(2));
+                break;
+            case MySQLConstants.TYPE_TIME2:
+                is.skip(3 + (meta + 1) / 2);
+                break;
+            case MySQLConstants.TYPE_DATETIME2:
+                is.skip(5 + (meta + 1) / 2);
+                break;
+            case MySQLConstants.TYPE_TIMESTAMP2:
+                is.skip(4 + (meta + 1) / 2);
+                break;
+            default:
+                throw new RuntimeException("assertion failed, unknown column type: " + type);
         }
-        return new Row(columns);
     }
 }
@@ -42,7 +42,8 @@ public class DeleteRowsEventV2Parser extends AbstractRowEventParser {
             throws IOException {
         final List<Row> r = new LinkedList<Row>();
         while (is.available() > 0) {
-            r.add(parseRow(is, tme, dre.getUsedColumns()));
+            final Row row = parseRow(is, tme, dre.getUsedColumns(), true);
+            if (row != null) r.add(row);
         }
         return r;
     }
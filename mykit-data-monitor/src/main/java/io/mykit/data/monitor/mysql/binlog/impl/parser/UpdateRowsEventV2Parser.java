@@ -46,8 +46,9 @@ public class UpdateRowsEventV2Parser extends AbstractRowEventParser {
         final List<Pair<Row>> r = new LinkedList<Pair<Row>>();
         while (is.available() > 0) {
             final Row before = parseRow(is, tme, ure.getUsedColumnsBefore());
-            final Row after = parseRow(is, tme, ure.getUsedColumnsAfter());
-            r.add(new Pair<Row>(before, after));
+            // 按修改后的数据过滤
+            final Row after = parseRow(is, tme, ure.getUsedColumnsAfter(), true);
+            if (after != null) r.add(new Pair<Row>(before, after));
         }
         return r;
     }
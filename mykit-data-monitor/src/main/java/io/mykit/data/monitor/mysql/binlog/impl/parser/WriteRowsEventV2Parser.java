@@ -45,7 +45,8 @@ public class WriteRowsEventV2Parser extends AbstractRowEventParser {
             throws IOException {
         final List<Row> r = new LinkedList<Row>();
         while (is.available() > 0) {
-            r.add(parseRow(is, tme, wre.getUsedColumns()));
+            final Row row = parseRow(is, tme, wre.getUsedColumns(), true);
+            if (row != null) r.add(row);
         }
         return r;
     }
@@ -3,18 +3,30 @@ package io.mykit.data.monitor.mysql.common.glossary.column;
 
 import io.mykit.data.monitor.mysql.common.glossary.Column;
 
+import java.nio.charset.Charset;
+
 public final class StringColumn implements Column {
     private static final long serialVersionUID = 1009717372407166422L;
 
+    private static final Charset CHARSET = Charset.defaultCharset();
+
     private final byte[] value;
 
+    // decoded on first access only
+    private transient String string;
+
     private StringColumn(byte[] value) {
         this.value = value;
     }
 
     @Override
     public String toString() {
-        return new String(this.value);
+        String r = this.string;
+        if (r == null) {
+            r = new String(this.value, CHARSET);
+            this.string = r;
+        }
+        return r;
     }
 
     public byte[] getValue() {
@@ -5,6 +5,7 @@ import io.mykit.data.monitor.mysql.io.XInputStream;
 import io.mykit.data.monitor.mysql.io.XOutputStream;
 
 import java.net.Socket;
+import java.nio.channels.Channel;
 
 public final class IOUtils {
 
@@ -16,6 +17,14 @@ public final class IOUtils {
         }
     }
 
+    public static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (Exception e) {
+            // NOP
+        }
+    }
+
     public static void closeQuietly(XInputStream is) {
         try {
             is.close();
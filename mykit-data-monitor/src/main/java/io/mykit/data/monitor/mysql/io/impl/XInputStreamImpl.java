@@ -12,11 +12,14 @@ import io.mykit.data.monitor.mysql.io.util.XSerializer;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 public class XInputStreamImpl extends InputStream implements XInputStream {
     private int head = 0;
     private int tail = 0;
     private final byte[] buffer;
+    private final ByteBuffer view;
     private final InputStream is;
 
     protected int readCount = 0;
@@ -29,6 +32,7 @@ public class XInputStreamImpl extends InputStream implements XInputStream {
     public XInputStreamImpl(InputStream is, int size) {
         this.is = is;
         this.buffer = new byte[size];
+        this.view = ByteBuffer.wrap(this.buffer).order(ByteOrder.LITTLE_ENDIAN);
     }
 
     public int readInt(int length) throws IOException {
@@ -110,6 +114,26 @@ public class XInputStreamImpl extends InputStream implements XInputStream {
     }
 
     public int readInt(int length, boolean littleEndian) throws IOException {
+        if (littleEndian && length <= 4 && isBuffered(length)) {
+            final int r;
+            switch (length) {
+                case 1:
+                    r = this.buffer[this.head] & 0xFF;
+                    break;
+                case 2:
+                    r = this.view.getShort(this.head) & 0xFFFF;
+                    break;
+                case 4:
+                    r = this.view.getInt(this.head);
+                    break;
+                default:
+                    r = (int) getLittleEndian(length);
+            }
+            this.head += length;
+            this.readCount += length;
+            return r;
+        }
+
         int r = 0;
         for (int i = 0; i < length; ++i) {
             final int v = this.read();
@@ -123,6 +147,23 @@ public class XInputStreamImpl extends InputStream implements XInputStream {
     }
 
     public long readLong(int length, boolean littleEndian) throws IOException {
+        if (littleEndian && length <= 8 && isBuffered(length)) {
+            final long r;
+            switch (length) {
+                case 4:
+                    r = this.view.getInt(this.head) & 0xFFFFFFFFL;
+                    break;
+                case 8:
+                    r = this.view.getLong(this.head);
+                    break;
+                default:
+                    r = getLittleEndian(length);
+            }
+            this.head += length;
+            this.readCount += length;
+            return r;
+        }
+
         long r = 0;
         for (int i = 0; i < length; ++i) {
             final long v = this.read();
@@ -202,6 +243,23 @@ public class XInputStreamImpl extends InputStream implements XInputStream {
         }
     }
 
+    /**
+     * Whether the next length bytes are already in the buffer and within the read limit,
+     * so they can be decoded in bulk without going through read()
+     */
+    protected boolean isBuffered(int length) {
+        if (this.readLimit > 0 && (this.readCount + length) > this.readLimit) return false;
+        return this.tail - this.head >= length;
+    }
+
+    private long getLittleEndian(int length) {
+        long r = 0;
+        for (int i = 0; i < length; ++i) {
+            r |= ((long) (this.buffer[this.head + i] & 0xFF)) << (i << 3);
+        }
+        return r;
+    }
+
     /**
      *
      */
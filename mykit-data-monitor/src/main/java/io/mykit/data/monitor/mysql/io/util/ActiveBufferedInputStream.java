@@ -1,6 +1,7 @@
 package io.mykit.data.monitor.mysql.io.util;
 
 
+import io.mykit.data.monitor.buffer.Sequence;
 import io.mykit.data.monitor.mysql.common.util.XThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,23 +11,38 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
-
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single producer (worker thread reading the socket) / single consumer (binlog decoder) byte ring buffer.
+ * No lock is taken on either side: the producer publishes by advancing the write sequence,
+ * the consumer frees space by advancing the read sequence.
+ * A side that is still waiting after spinning and yielding parks until the other side unparks it,
+ * so an idle connection does not wake up the decoder.
+ */
 public final class ActiveBufferedInputStream extends InputStream implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(ActiveBufferedInputStream.class);
 
     private static final int DEFAULT_CAPACITY = 2 * 1024 * 1024;
 
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 1_000_000L;
+    private static final long MAX_PARK_NANOS = 100_000_000L;
+
     private final Thread worker;
     private final InputStream is;
     private volatile IOException exception;
-    private final ByteRingBuffer ringBuffer;
     private final ThreadFactory threadFactory;
-    private final ReentrantLock lock = new ReentrantLock(false);
     private final AtomicBoolean closed = new AtomicBoolean(false);
-    private final Condition bufferNotFull = this.lock.newCondition();
-    private final Condition bufferNotEmpty = this.lock.newCondition();
+
+    private final int mask;
+    private final int capacity;
+    private final byte[] buffer;
+    private final Sequence writeSequence = new Sequence(0L);
+    private final Sequence readSequence = new Sequence(0L);
+    private volatile Thread readWaiter;
+    private volatile Thread writeWaiter;
 
     public ActiveBufferedInputStream(InputStream is) {
         this(is, DEFAULT_CAPACITY);
@@ -39,7 +55,9 @@ public final class ActiveBufferedInputStream extends InputStream implements Runn
     public ActiveBufferedInputStream(InputStream is, int size, ThreadFactory tf) {
         this.is = is;
         this.threadFactory = tf;
-        this.ringBuffer = new ByteRingBuffer(size);
+        this.capacity = ceilingPowerOfTwo(size);
+        this.mask = this.capacity - 1;
+        this.buffer = new byte[this.capacity];
 
         this.worker = this.threadFactory.newThread(this);
         this.worker.start();
@@ -47,28 +65,19 @@ public final class ActiveBufferedInputStream extends InputStream implements Runn
 
     public void run() {
         try {
-            final byte[] buffer = new byte[512 * 1024];
             while (!this.closed.get()) {
-                int r = this.is.read(buffer, 0, buffer.length);
-                if (r < 0) throw new EOFException();
-
-                int offset = 0;
-                while (r > 0) {
-                    final int w = write(buffer, offset, r);
-                    r -= w;
-                    offset += w;
-                }
+                // read straight into the free contiguous region of the ring
+                final long w = this.writeSequence.get();
+                final long r = awaitWritable(w);
+                final int index = (int) (w & this.mask);
+                final int len = Math.min(this.capacity - (int) (w - r), this.capacity - index);
+
+                final int n = this.is.read(this.buffer, index, len);
+                if (n < 0) throw new EOFException();
+                publish(w + n);
             }
         } catch (IOException e) {
             this.exception = e;
-
-            this.lock.lock();
-            try {
-                this.bufferNotFull.signalAll();
-                this.bufferNotEmpty.signalAll();
-            } finally {
-                this.lock.unlock();
-            }
         } catch (Exception e) {
             LOGGER.error("failed to transfer data", e);
         } finally {
@@ -84,7 +93,7 @@ public final class ActiveBufferedInputStream extends InputStream implements Runn
 
     @Override
     public int available() throws IOException {
-        return this.ringBuffer.size();
+        return (int) (this.writeSequence.get() - this.readSequence.get());
     }
 
     @Override
@@ -92,130 +101,131 @@ public final class ActiveBufferedInputStream extends InputStream implements Runn
         if (!this.closed.compareAndSet(false, true)) {
             return;
         }
-
-        try {
-            this.is.close();
-        } finally {
-            this.lock.lock();
-            try {
-                this.bufferNotFull.signalAll();
-                this.bufferNotEmpty.signalAll();
-            } finally {
-                this.lock.unlock();
-            }
-        }
+        this.is.close();
+        unpark(this.readWaiter);
+        unpark(this.writeWaiter);
     }
 
     @Override
     public int read() throws IOException {
-        this.lock.lock();
-        try {
-            while (this.ringBuffer.isEmpty()) {
-                if (this.exception != null) throw this.exception;
-                this.bufferNotEmpty.awaitUninterruptibly();
-                if (this.closed.get() && this.ringBuffer.isEmpty()) throw new EOFException();
-            }
+        final long r = this.readSequence.get();
+        awaitReadable(r);
 
-            final int r = this.ringBuffer.read();
-            this.bufferNotFull.signal();
-            return r;
-        } finally {
-            this.lock.unlock();
-        }
+        final int v = this.buffer[(int) (r & this.mask)] & 0xFF;
+        this.readSequence.set(r + 1);
+        unpark(this.writeWaiter);
+        return v;
     }
 
     @Override
     public int read(byte b[], int off, int len) throws IOException {
-        this.lock.lock();
-        try {
-            while (this.ringBuffer.isEmpty()) {
-                if (this.exception != null) throw this.exception;
-                this.bufferNotEmpty.awaitUninterruptibly();
-                if (this.closed.get() && this.ringBuffer.isEmpty()) throw new EOFException();
-            }
+        if (len == 0) return 0;
 
-            final int r = this.ringBuffer.read(b, off, len);
-            this.bufferNotFull.signal();
-            return r;
-        } finally {
-            this.lock.unlock();
-        }
-    }
+        final long r = this.readSequence.get();
+        final long w = awaitReadable(r);
 
-    public int write(byte b[], int off, int len) throws IOException {
-        this.lock.lock();
-        try {
-            while (this.ringBuffer.isFull()) {
-                this.bufferNotFull.awaitUninterruptibly();
-                if (this.closed.get()) throw new EOFException();
-            }
+        final int n = (int) Math.min(w - r, len);
+        final int index = (int) (r & this.mask);
+        final int n1 = Math.min(this.capacity - index, n);
+        System.arraycopy(this.buffer, index, b, off, n1);
+        if (n1 < n) System.arraycopy(this.buffer, 0, b, off + n1, n - n1);
 
-            final int w = this.ringBuffer.write(b, off, len);
-            this.bufferNotEmpty.signal();
-            return w;
-        } finally {
-            this.lock.unlock();
-        }
+        this.readSequence.set(r + n);
+        unpark(this.writeWaiter);
+        return n;
     }
 
-    private final class ByteRingBuffer {
-        private int size;
-        private int head; // Write
-        private int tail; // Read
-        private final byte[] buffer;
+    public int write(byte b[], int off, int len) throws IOException {
+        if (len == 0) return 0;
 
-        public ByteRingBuffer(int capacity) {
-            this.buffer = new byte[capacity];
-        }
+        final long w = this.writeSequence.get();
+        final long r = awaitWritable(w);
 
-        public int size() {
-            return this.size;
-        }
+        final int n = Math.min(this.capacity - (int) (w - r), len);
+        final int index = (int) (w & this.mask);
+        final int n1 = Math.min(this.capacity - index, n);
+        System.arraycopy(b, off, this.buffer, index, n1);
+        if (n1 < n) System.arraycopy(b, off + n1, this.buffer, 0, n - n1);
 
-        public boolean isEmpty() {
-            return this.size == 0;
-        }
-
-        public boolean isFull() {
-            return this.size == this.buffer.length;
-        }
+        publish(w + n);
+        return n;
+    }
 
-        public int read() {
-            final int r = this.buffer[this.tail] & 0xFF;
+    /**
+     * Publishes the write sequence, then wakes up the consumer if it is parked.
+     * The volatile store keeps the waiter check from being reordered before the publish.
+     */
+    private void publish(long sequence) {
+        this.writeSequence.setVolatile(sequence);
+        unpark(this.readWaiter);
+    }
 
-            this.tail = (this.tail + 1) % this.buffer.length;
-            this.size -= 1;
-            return r;
+    /**
+     * Waits until at least one byte after sequence is published, returns the write sequence
+     */
+    private long awaitReadable(long sequence) throws IOException {
+        int counter = SPIN_TRIES + YIELD_TRIES;
+        long available;
+        while ((available = this.writeSequence.get()) <= sequence) {
+            final IOException e = this.exception;
+            if (e != null || this.closed.get()) {
+                // drain whatever the producer published before it stopped
+                if ((available = this.writeSequence.get()) > sequence) break;
+                if (e != null) throw e;
+                throw new EOFException();
+            }
+            if (counter > 0) {
+                counter = backoff(counter);
+                continue;
+            }
+            // nothing published after spinning, park until the producer publishes or closes
+            this.readWaiter = Thread.currentThread();
+            if (this.writeSequence.get() <= sequence && this.exception == null && !this.closed.get()) {
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            }
+            this.readWaiter = null;
         }
+        return available;
+    }
 
-        public int read(byte b[], int off, int len) {
-            final int r = Math.min(this.size, len);
-            if (this.head > this.tail) {
-                System.arraycopy(this.buffer, this.tail, b, off, r);
-            } else {
-                final int r1 = Math.min(this.buffer.length - this.tail, r);
-                System.arraycopy(this.buffer, this.tail, b, off, r1);
-                if (r1 < r) System.arraycopy(this.buffer, 0, b, off + r1, r - r1);
+    /**
+     * Waits until the ring has free space for sequence, returns the read sequence
+     */
+    private long awaitWritable(long sequence) throws IOException {
+        int counter = SPIN_TRIES + YIELD_TRIES;
+        long r;
+        while (sequence - (r = this.readSequence.get()) >= this.capacity) {
+            if (this.closed.get()) throw new EOFException();
+            if (counter > 0) {
+                counter = backoff(counter);
+                continue;
             }
-
-            this.tail = (this.tail + r) % this.buffer.length;
-            this.size -= r;
-            return r;
+            // the consumer frees space with an ordered store, so a wakeup may be missed: park briefly
+            this.writeWaiter = Thread.currentThread();
+            if (sequence - this.readSequence.get() >= this.capacity && !this.closed.get()) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            this.writeWaiter = null;
         }
+        return r;
+    }
 
-        public int write(byte b[], int off, int len) {
-            final int w = Math.min(this.buffer.length - this.size, len);
-            if (this.head < this.tail) {
-                System.arraycopy(b, off, this.buffer, this.head, w);
-            } else {
-                final int w1 = Math.min(this.buffer.length - this.head, w);
-                System.arraycopy(b, off, this.buffer, this.head, w1);
-                if (w1 < w) System.arraycopy(b, off + w1, this.buffer, 0, w - w1);
-            }
+    private static int backoff(int counter) {
+        if (counter <= YIELD_TRIES) {
+            Thread.yield();
+        }
+        return counter - 1;
+    }
 
-            this.head = (this.head + w) % this.buffer.length;
-            this.size += w;
-            return w;
+    private static void unpark(Thread waiter) {
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
         }
     }
+
+    private static int ceilingPowerOfTwo(int size) {
+        if (size <= 1) return 1;
+        final int n = Integer.highestOneBit(size - 1) << 1;
+        return n > 0 ? n : 1 << 30;
+    }
 }
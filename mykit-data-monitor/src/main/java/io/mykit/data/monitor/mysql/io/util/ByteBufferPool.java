@@ -0,0 +1,89 @@
+package io.mykit.data.monitor.mysql.io.util;
+
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct byte buffers, bucketed by power-of-two capacity.
+ * Direct buffers are expensive to allocate and only freed on GC, so they are kept for reconnects.
+ */
+public final class ByteBufferPool {
+
+    private static final ByteBufferPool DEFAULT = new ByteBufferPool(8);
+
+    private final int maxPooledPerBucket;
+    private final Map<Integer, Bucket> buckets = new ConcurrentHashMap<Integer, Bucket>();
+
+    public ByteBufferPool(int maxPooledPerBucket) {
+        this.maxPooledPerBucket = maxPooledPerBucket;
+    }
+
+    public static ByteBufferPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a cleared direct buffer whose capacity is size rounded up to a power of two
+     */
+    public ByteBuffer acquire(int size) {
+        final int capacity = ceilingPowerOfTwo(size);
+        final ByteBuffer r = getBucket(capacity).poll();
+        if (r != null) {
+            r.clear();
+            return r;
+        }
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || Integer.bitCount(buffer.capacity()) != 1) {
+            return;
+        }
+        getBucket(buffer.capacity()).offer(buffer);
+    }
+
+    public int getPooledSize() {
+        int r = 0;
+        for (Bucket b : this.buckets.values()) r += b.size.get();
+        return r;
+    }
+
+    private Bucket getBucket(int capacity) {
+        Bucket r = this.buckets.get(capacity);
+        if (r == null) {
+            this.buckets.putIfAbsent(capacity, new Bucket());
+            r = this.buckets.get(capacity);
+        }
+        return r;
+    }
+
+    private static int ceilingPowerOfTwo(int size) {
+        if (size <= 1) return 1;
+        final int n = Integer.highestOneBit(size - 1) << 1;
+        return n > 0 ? n : 1 << 30;
+    }
+
+    private final class Bucket {
+        private final AtomicInteger size = new AtomicInteger();
+        private final Queue<ByteBuffer> queue = new ConcurrentLinkedQueue<ByteBuffer>();
+
+        ByteBuffer poll() {
+            final ByteBuffer r = this.queue.poll();
+            if (r != null) this.size.decrementAndGet();
+            return r;
+        }
+
+        void offer(ByteBuffer buffer) {
+            if (this.size.incrementAndGet() > maxPooledPerBucket) {
+                this.size.decrementAndGet();
+                return;
+            }
+            this.queue.offer(buffer);
+        }
+    }
+}
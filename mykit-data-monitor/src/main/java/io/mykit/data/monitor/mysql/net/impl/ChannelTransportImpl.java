@@ -0,0 +1,146 @@
+package io.mykit.data.monitor.mysql.net.impl;
+
+
+import io.mykit.data.monitor.mysql.common.util.IOUtils;
+import io.mykit.data.monitor.mysql.io.util.ByteBufferPool;
+import io.mykit.data.monitor.mysql.net.Packet;
+import io.mykit.data.monitor.mysql.net.TransportException;
+import io.mykit.data.monitor.mysql.net.TransportInputStream;
+import io.mykit.data.monitor.mysql.net.TransportOutputStream;
+import io.mykit.data.monitor.mysql.net.impl.packet.ErrorPacket;
+import io.mykit.data.monitor.mysql.net.impl.packet.GreetingPacket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transport on a blocking {@link SocketChannel}, reading into a pooled direct buffer
+ */
+public class ChannelTransportImpl extends AbstractTransport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChannelTransportImpl.class);
+
+    protected SocketChannel channel;
+    protected TransportInputStream is;
+    protected TransportOutputStream os;
+    protected ByteBufferPool bufferPool = ByteBufferPool.getDefault();
+    protected int bufferSize = 1024 * 1024;
+    protected boolean keepAlive = true;
+    protected boolean tcpNoDelay = false;
+    protected int receiveBufferSize = -1;
+    protected final AtomicBoolean connected = new AtomicBoolean(false);
+
+    public boolean isConnected() {
+        return this.connected.get();
+    }
+
+    public void connect(String host, int port) throws Exception {
+        if (!this.connected.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (isVerbose() && LOGGER.isInfoEnabled()) {
+            LOGGER.debug("connecting to host: {}, port: {}", host, port);
+        }
+
+        this.channel = SocketChannel.open();
+        this.channel.setOption(StandardSocketOptions.SO_KEEPALIVE, this.keepAlive);
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, this.tcpNoDelay);
+        if (this.receiveBufferSize > 0) this.channel.setOption(StandardSocketOptions.SO_RCVBUF, this.receiveBufferSize);
+        this.channel.configureBlocking(true);
+        this.channel.connect(new InetSocketAddress(host, port));
+
+        this.os = new TransportOutputStreamImpl(Channels.newOutputStream(this.channel));
+        this.is = new ChannelTransportInputStreamImpl(this.channel, this.bufferPool, this.bufferSize);
+
+        final Packet packet = this.is.readPacket();
+        if (packet.getPacketBody()[0] == ErrorPacket.PACKET_MARKER) {
+            final ErrorPacket error = ErrorPacket.valueOf(packet);
+            LOGGER.warn("failed to connect to host: {}, port: {}, error", new Object[]{host, port, error});
+            throw new TransportException(error);
+        } else {
+            final GreetingPacket greeting = GreetingPacket.valueOf(packet);
+            this.context.setServerHost(host);
+            this.context.setServerPort(port);
+            this.context.setServerStatus(greeting.getServerStatus());
+            this.context.setServerVersion(greeting.getServerVersion().toString());
+            this.context.setServerCollation(greeting.getServerCollation());
+            this.context.setServerCapabilities(greeting.getServerCapabilities());
+            this.context.setThreadId(greeting.getThreadId());
+            this.context.setProtocolVersion(greeting.getProtocolVersion());
+            this.context.setScramble(greeting.getScramble1().toString() + greeting.getScramble2().toString());
+
+            if (isVerbose() && LOGGER.isInfoEnabled()) {
+                LOGGER.debug("connected to host: {}, port: {}, context: {}", new Object[]{host, port, this.context});
+            }
+        }
+
+        this.authenticator.login(this);
+    }
+
+    public void disconnect() throws Exception {
+        if (!this.connected.compareAndSet(true, false)) {
+            return;
+        }
+
+        IOUtils.closeQuietly(this.is);
+        IOUtils.closeQuietly(this.os);
+        IOUtils.closeQuietly(this.channel);
+
+        if (isVerbose() && LOGGER.isInfoEnabled()) {
+            LOGGER.debug("disconnected from {}:{}", this.context.getServerHost(), this.context.getServerPort());
+        }
+    }
+
+    public TransportInputStream getInputStream() {
+        return this.is;
+    }
+
+    public TransportOutputStream getOutputStream() {
+        return this.os;
+    }
+
+    public ByteBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public void setBufferPool(ByteBufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    public void setReceiveBufferSize(int receiveBufferSize) {
+        this.receiveBufferSize = receiveBufferSize;
+    }
+}
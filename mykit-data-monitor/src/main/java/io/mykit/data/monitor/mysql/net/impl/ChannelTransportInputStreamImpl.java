@@ -0,0 +1,229 @@
+package io.mykit.data.monitor.mysql.net.impl;
+
+
+import io.mykit.data.monitor.mysql.io.impl.XInputStreamImpl;
+import io.mykit.data.monitor.mysql.io.util.ByteBufferPool;
+import io.mykit.data.monitor.mysql.net.Packet;
+import io.mykit.data.monitor.mysql.net.TransportInputStream;
+import io.mykit.data.monitor.mysql.net.impl.packet.RawPacket;
+import io.mykit.data.monitor.mysql.net.impl.packet.SlicedPacket;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transport input stream reading a {@link ReadableByteChannel} into one pooled direct buffer,
+ * values are decoded from the buffer in place instead of going through socket stream and heap buffers.
+ * <p>
+ * Not thread safe, all reads are expected on the same thread (binlog parser). The buffer goes back
+ * to the pool from that thread once the channel fails or is closed.
+ */
+public class ChannelTransportInputStreamImpl extends XInputStreamImpl implements TransportInputStream {
+    private final ReadableByteChannel channel;
+    private final ByteBufferPool pool;
+    private ByteBuffer buffer;
+    private int currentPacketSequence;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public ChannelTransportInputStreamImpl(ReadableByteChannel channel, ByteBufferPool pool, int size) {
+        super((InputStream) null, 0);
+        this.channel = channel;
+        this.pool = pool;
+        this.buffer = pool.acquire(size).order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.flip();
+        this.readLimit = this.readCount = 0;
+    }
+
+    public Packet readPacket() throws IOException {
+        readPacketHeader();
+
+        final int length = this.readLimit;
+        if (length > this.buffer.capacity()) {
+            // larger than the read buffer, has to be assembled on the heap
+            final RawPacket r = new RawPacket();
+            r.setLength(length);
+            r.setSequence(this.currentPacketSequence);
+            final byte[] body = new byte[length];
+            this.read(body, 0, length);
+            r.setPacketBody(body);
+            return r;
+        }
+
+        ensure(length);
+        final ByteBuffer slice = this.buffer.slice();
+        slice.limit(length);
+        this.buffer.position(this.buffer.position() + length);
+        this.readCount += length;
+        return new SlicedPacket(length, this.currentPacketSequence, slice);
+    }
+
+    private void readPacketHeader() throws IOException {
+        ensure(4);
+        final int header = this.buffer.getInt();
+        this.currentPacketSequence = header >>> 24;
+        setReadLimit(header & 0xFFFFFF);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.readCount + 1 > this.readLimit) {
+            readPacketHeader();
+        }
+        ensure(1);
+        ++this.readCount;
+        return this.buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte b[], int off, final int len) throws IOException {
+        int left = len;
+        while (left > 0) {
+            if (this.readCount >= this.readLimit) {
+                readPacketHeader();
+                continue;
+            }
+
+            ensure(1);
+            final int n = Math.min(Math.min(left, this.readLimit - this.readCount), this.buffer.remaining());
+            this.buffer.get(b, off, n);
+            this.readCount += n;
+            off += n;
+            left -= n;
+        }
+        return len;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        long left = n;
+        while (left > 0) {
+            if (this.readCount >= this.readLimit) {
+                readPacketHeader();
+                continue;
+            }
+
+            ensure(1);
+            final int s = (int) Math.min(Math.min(left, this.readLimit - this.readCount), this.buffer.remaining());
+            this.buffer.position(this.buffer.position() + s);
+            this.readCount += s;
+            left -= s;
+        }
+        return n;
+    }
+
+    @Override
+    public int readInt(int length, boolean littleEndian) throws IOException {
+        if (littleEndian && length <= 4 && this.readCount + length <= this.readLimit) {
+            ensure(length);
+            final int r;
+            switch (length) {
+                case 1:
+                    r = this.buffer.get() & 0xFF;
+                    break;
+                case 2:
+                    r = this.buffer.getShort() & 0xFFFF;
+                    break;
+                case 4:
+                    r = this.buffer.getInt();
+                    break;
+                default:
+                    r = (int) getLittleEndian(length);
+            }
+            this.readCount += length;
+            return r;
+        }
+        return super.readInt(length, littleEndian);
+    }
+
+    @Override
+    public long readLong(int length, boolean littleEndian) throws IOException {
+        if (littleEndian && length <= 8 && this.readCount + length <= this.readLimit) {
+            ensure(length);
+            final long r;
+            switch (length) {
+                case 4:
+                    r = this.buffer.getInt() & 0xFFFFFFFFL;
+                    break;
+                case 8:
+                    r = this.buffer.getLong();
+                    break;
+                default:
+                    r = getLittleEndian(length);
+            }
+            this.readCount += length;
+            return r;
+        }
+        return super.readLong(length, littleEndian);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.readLimit - this.readCount;
+    }
+
+    @Override
+    public boolean hasMore() throws IOException {
+        return this.available() > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed.compareAndSet(false, true)) {
+            this.channel.close();
+        }
+    }
+
+    public int currentPacketLength() {
+        return this.readLimit;
+    }
+
+    public int currentPacketSequence() {
+        return this.currentPacketSequence;
+    }
+
+    private long getLittleEndian(int length) {
+        long r = 0;
+        for (int i = 0; i < length; ++i) {
+            r |= ((long) (this.buffer.get() & 0xFF)) << (i << 3);
+        }
+        return r;
+    }
+
+    /**
+     * Makes sure at least n (no more than the buffer capacity) bytes are readable
+     */
+    private void ensure(int n) throws IOException {
+        while (this.buffer == null || this.buffer.remaining() < n) {
+            fill();
+        }
+    }
+
+    private void fill() throws IOException {
+        if (this.buffer == null || this.closed.get()) {
+            recycle();
+            throw new EOFException();
+        }
+
+        try {
+            this.buffer.compact();
+            final int r = this.channel.read(this.buffer);
+            this.buffer.flip();
+            if (r < 0) throw new EOFException();
+        } catch (IOException e) {
+            recycle();
+            throw e;
+        }
+    }
+
+    private void recycle() {
+        if (this.buffer != null) {
+            this.pool.release(this.buffer);
+            this.buffer = null;
+        }
+    }
+}
@@ -15,6 +15,8 @@ public class EventInputStream extends XInputStreamImpl implements XInputStream {
     private final XInputStream dataStream;
     private boolean checksumEnabled = false;
     private CRC32 crc = null;
+    private static final int SKIP_BUFFER_SIZE = 8 * 1024;
+    private byte[] skipBuffer;
 
     public EventInputStream(XInputStream is) {
         super((InputStream) is);
@@ -85,9 +87,14 @@ public class EventInputStream extends XInputStreamImpl implements XInputStream {
             this.readCount += n;
             return dataStream.skip(n);
         } else {
-            byte b[] = new byte[(int) n];
-            // let read calculate the CRC
-            read(b, 0, (int) n);
+            // let read calculate the CRC, in chunks so that skipping a large filtered event does not allocate it
+            if (skipBuffer == null) skipBuffer = new byte[SKIP_BUFFER_SIZE];
+            long left = n;
+            while (left > 0) {
+                final int len = (int) Math.min(left, skipBuffer.length);
+                read(skipBuffer, 0, len);
+                left -= len;
+            }
         }
         return n;
 
@@ -81,6 +81,30 @@ public class TransportInputStreamImpl extends XInputStreamImpl implements Transp
         return len;
     }
 
+    @Override
+    public long skip(final long n) throws IOException {
+        long left = n;
+
+        // skipped events (filtered tables) can span multiple packets as well
+        while ((this.readCount + left) > this.readLimit) {
+            final int remaining_length = this.readLimit - this.readCount;
+            super.skip(remaining_length);
+
+            readPacketHeader();
+
+            left -= remaining_length;
+        }
+
+        super.skip(left);
+        return n;
+    }
+
+    @Override
+    protected boolean isBuffered(int length) {
+        // never bulk decode across a packet boundary, read() has to consume the next packet header
+        return (this.readCount + length) <= this.readLimit && super.isBuffered(length);
+    }
+
     public int currentPacketLength() {
         return this.readLimit;
     }
@@ -0,0 +1,42 @@
+package io.mykit.data.monitor.mysql.net.impl.packet;
+
+import io.mykit.data.monitor.mysql.common.util.ToStringBuilder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Packet whose body is a slice of the transport read buffer, no copy is made until
+ * {@link #getPacketBody()} is called. The slice is only valid until the next read on the transport.
+ */
+public class SlicedPacket extends AbstractPacket {
+    private static final long serialVersionUID = -6385018723547961237L;
+
+    private transient ByteBuffer packetBuffer;
+    private byte packetBody[];
+
+    public SlicedPacket(int length, int sequence, ByteBuffer packetBuffer) {
+        this.length = length;
+        this.sequence = sequence;
+        this.packetBuffer = packetBuffer;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("length", length)
+                .append("sequence", sequence).toString();
+    }
+
+    public ByteBuffer getPacketBuffer() {
+        return packetBuffer.duplicate();
+    }
+
+    public byte[] getPacketBody() {
+        if (this.packetBody == null) {
+            final byte[] r = new byte[this.packetBuffer.remaining()];
+            this.packetBuffer.duplicate().get(r);
+            this.packetBody = r;
+        }
+        return packetBody;
+    }
+}
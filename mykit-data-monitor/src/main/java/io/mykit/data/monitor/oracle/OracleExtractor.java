@@ -3,15 +3,19 @@ package io.mykit.data.monitor.oracle;
 
 import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.constants.ConnectorConstants;
+import io.mykit.data.connector.database.pool.DataSourcePool;
 import io.mykit.data.monitor.AbstractExtractor;
 import io.mykit.data.monitor.exception.ListenerException;
 import io.mykit.data.monitor.oracle.dcn.DBChangeNotification;
 import io.mykit.data.monitor.oracle.dcn.RowChangeEvent;
+import io.mykit.data.monitor.oracle.dcn.RowChangeProcessor;
+import io.mykit.data.monitor.oracle.dcn.RowEventListener;
 import oracle.jdbc.dcn.TableChangeDescription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
+import java.util.Map;
 
 public class OracleExtractor extends AbstractExtractor {
 
@@ -27,7 +31,20 @@ public class OracleExtractor extends AbstractExtractor {
             String password = config.getPassword();
             String url = config.getUrl();
             client = new DBChangeNotification(username, password, url);
-            client.addRowEventListener((e) -> onEvent(e));
+            client.addRowEventListener(new RowEventListener() {
+                @Override
+                public void onEvents(RowChangeEvent event) {
+                    onEvent(event);
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    errorEvent(e);
+                }
+            });
+            // 工作线程从连接池获取连接查询行数据, 按表并行处理(连接器修改后使用新的连接池)
+            client.setDataSource(DataSourcePool.getLazyDataSource(config));
+            client.setWorkerSize(listenerConfig.getApplyThreadNum());
             client.start();
         } catch (Exception e) {
             logger.error("启动失败:{}", e.getMessage());
@@ -42,19 +59,34 @@ public class OracleExtractor extends AbstractExtractor {
         }
     }
 
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = super.getMetrics();
+        RowChangeProcessor processor = null != client ? client.getProcessor() : null;
+        if (null != processor) {
+            metrics.put("处理线程", processor.getWorkerSize());
+            metrics.put("待处理通知", processor.getQueueSize());
+            metrics.put("已处理通知", processor.getProcessedTasks());
+            metrics.put("已处理行数", processor.getProcessedRows());
+            metrics.put("通知到写入平均耗时(ms)", processor.getAvgLatency());
+            metrics.put("通知到写入最长耗时(ms)", processor.getMaxLatency());
+        }
+        return metrics;
+    }
+
     private void onEvent(RowChangeEvent event) {
         if (event.getEvent() == TableChangeDescription.TableOperation.UPDATE.getCode()) {
-            changedLogEvent(event.getTableName(), ConnectorConstants.OPERTION_UPDATE, Collections.EMPTY_LIST, event.getData());
+            changedLogBatchEvent(event.getTableName(), ConnectorConstants.OPERTION_UPDATE, Collections.EMPTY_LIST, event.getData());
             return;
         }
 
         if (event.getEvent() == TableChangeDescription.TableOperation.INSERT.getCode()) {
-            changedLogEvent(event.getTableName(), ConnectorConstants.OPERTION_INSERT, Collections.EMPTY_LIST, event.getData());
+            changedLogBatchEvent(event.getTableName(), ConnectorConstants.OPERTION_INSERT, Collections.EMPTY_LIST, event.getData());
             return;
         }
 
         if (event.getEvent() == TableChangeDescription.TableOperation.DELETE.getCode()) {
-            changedLogEvent(event.getTableName(), ConnectorConstants.OPERTION_DELETE, event.getData(), Collections.EMPTY_LIST);
+            changedLogBatchEvent(event.getTableName(), ConnectorConstants.OPERTION_DELETE, event.getData(), Collections.EMPTY_LIST);
             return;
         }
     }
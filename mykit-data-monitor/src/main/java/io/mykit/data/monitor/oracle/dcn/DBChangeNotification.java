@@ -10,6 +10,7 @@ import oracle.jdbc.driver.OracleConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.sql.DataSource;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.ResultSet;
@@ -26,7 +27,6 @@ public class DBChangeNotification {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private static final String QUERY_ROW_DATA_SQL = "SELECT * FROM \"%s\" WHERE ROWID = '%s'";
     private static final String QUERY_TABLE_ALL_SQL = "SELECT DATA_OBJECT_ID, OBJECT_NAME FROM DBA_OBJECTS WHERE OWNER='%S' AND OBJECT_TYPE = 'TABLE'";
     private static final String QUERY_TABLE_SQL = "SELECT 1 FROM \"%s\" WHERE 1=2";
     private static final String QUERY_CALLBACK_SQL = "SELECT REGID,CALLBACK FROM USER_CHANGE_NOTIFICATION_REGS";
@@ -40,6 +40,9 @@ public class DBChangeNotification {
     private DatabaseChangeRegistration dcr;
     private Map<Integer, String> tables;
     private List<RowEventListener> listeners;
+    private DataSource dataSource;
+    private int workerSize = 1;
+    private RowChangeProcessor processor;
 
     public DBChangeNotification(String username, String password, String url) {
         this.username = username;
@@ -50,6 +53,9 @@ public class DBChangeNotification {
 
     public void start() throws SQLException {
         try {
+            // 通知线程只入队, 工作线程使用连接池查询行数据
+            processor = new RowChangeProcessor(dataSource, listeners, workerSize);
+            processor.start("oracle-dcn-" + username);
             conn = connect();
             statement = (OracleStatement) conn.createStatement();
             readTables();
@@ -86,6 +92,10 @@ public class DBChangeNotification {
     }
 
     public void close() {
+        if (null != processor) {
+            processor.close();
+        }
+
         try {
             if (null != statement) {
                 statement.close();
@@ -191,6 +201,18 @@ public class DBChangeNotification {
         this.listeners.add(rowEventListener);
     }
 
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void setWorkerSize(int workerSize) {
+        this.workerSize = workerSize;
+    }
+
+    public RowChangeProcessor getProcessor() {
+        return processor;
+    }
+
     final class DCNListener implements DatabaseChangeListener {
 
         @Override
@@ -198,36 +220,28 @@ public class DBChangeNotification {
             TableChangeDescription[] tds = event.getTableChangeDescription();
 
             for (TableChangeDescription td : tds) {
+                final String tableName = tables.get(td.getObjectNumber());
+                if (null == tableName) {
+                    continue;
+                }
                 RowChangeDescription[] rds = td.getRowChangeDescription();
-                for (RowChangeDescription rd : rds) {
-                    RowChangeDescription.RowOperation opr = rd.getRowOperation();
-                    parseEvent(tables.get(td.getObjectNumber()), rd.getRowid().stringValue(), opr);
+                // 按操作类型连续分组, 保持通知内的行顺序
+                int begin = 0;
+                for (int i = 1; i <= rds.length; i++) {
+                    if (i == rds.length || rds[i].getRowOperation() != rds[begin].getRowOperation()) {
+                        parseEvent(tableName, rds[begin].getRowOperation(), Arrays.copyOfRange(rds, begin, i));
+                        begin = i;
+                    }
                 }
             }
         }
 
-        private void parseEvent(String tableName, String rowId, RowChangeDescription.RowOperation event) {
-            List<Object> data = new ArrayList<>();
-            data.add(rowId);
-
-            if (event.getCode() != TableChangeDescription.TableOperation.DELETE.getCode()) {
-                ResultSet rs = null;
-                try {
-                    rs = statement.executeQuery(String.format(QUERY_ROW_DATA_SQL, tableName, rowId));
-                    final int size = rs.getMetaData().getColumnCount();
-                    while (rs.next()) {
-                        for (int i = 1; i <= size; i++) {
-                            data.add(rs.getObject(i));
-                        }
-                    }
-                } catch (SQLException e) {
-                    logger.error(e.getMessage());
-                } finally {
-                    close(rs);
-                }
+        private void parseEvent(String tableName, RowChangeDescription.RowOperation event, RowChangeDescription[] rds) {
+            List<String> rowIds = new ArrayList<>(rds.length);
+            for (RowChangeDescription rd : rds) {
+                rowIds.add(rd.getRowid().stringValue());
             }
-
-            listeners.forEach(e -> e.onEvents(new RowChangeEvent(tableName, event.getCode(), data)));
+            processor.submit(new RowChangeTask(tableName, event.getCode(), rowIds, System.currentTimeMillis()));
         }
     }
 
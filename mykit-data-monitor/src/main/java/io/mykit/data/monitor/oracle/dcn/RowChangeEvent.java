@@ -6,15 +6,15 @@ package io.mykit.data.monitor.oracle.dcn;
 import java.util.List;
 
 /**
- * 监听行变更事件
+ * 监听行变更事件(同一张表同一种操作的一批行, 每行第一列为ROWID)
  */
 public class RowChangeEvent {
 
     private String tableName;
     private int event;
-    private List<Object> data;
+    private List<List<Object>> data;
 
-    public RowChangeEvent(String tableName, int event, List<Object> data) {
+    public RowChangeEvent(String tableName, int event, List<List<Object>> data) {
         this.tableName = tableName;
         this.event = event;
         this.data = data;
@@ -28,7 +28,7 @@ public class RowChangeEvent {
         return event;
     }
 
-    public List<Object> getData() {
+    public List<List<Object>> getData() {
         return data;
     }
 
@@ -0,0 +1,274 @@
+/**
+ * DBSyncer Copyright 2019-2024 All Rights Reserved.
+ */
+package io.mykit.data.monitor.oracle.dcn;
+
+import oracle.jdbc.dcn.TableChangeDescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步处理行变更通知
+ * <p>通知线程只入队(表, ROWID, 操作), 工作线程从连接池获取连接查询行数据后交给监听器
+ * <p>同一张表固定由一个工作线程处理, 保持通知顺序; 队列满时通知线程等待
+ */
+public class RowChangeProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private static final String QUERY_ROW_DATA_SQL = "SELECT ROWIDTOCHAR(T.ROWID), T.* FROM \"%s\" T WHERE T.ROWID IN (%s)";
+
+    /**
+     * 每次查询的ROWID个数上限(IN列表最多1000个)
+     */
+    private static final int MAX_FETCH_SIZE = 512;
+
+    /**
+     * 每个工作线程最多排队的通知数
+     */
+    private static final int QUEUE_CAPACITY = 10000;
+
+    /**
+     * 查询行数据失败重试次数
+     */
+    private static final int MAX_RETRIES = 3;
+
+    /**
+     * 重试间隔(ms), 按次数递增
+     */
+    private static final long RETRY_INTERVAL = 1000L;
+
+    private final DataSource dataSource;
+    private final List<RowEventListener> listeners;
+    private final Worker[] workers;
+
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong processedTasks = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private volatile long maxLatency;
+    private volatile boolean running;
+
+    public RowChangeProcessor(DataSource dataSource, List<RowEventListener> listeners, int workerSize) {
+        this.dataSource = dataSource;
+        this.listeners = listeners;
+        this.workers = new Worker[Math.max(1, workerSize)];
+    }
+
+    public void start(String threadName) {
+        running = true;
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker();
+            Thread thread = new Thread(workers[i], threadName + "-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    public void close() {
+        running = false;
+        for (Worker worker : workers) {
+            if (null != worker) {
+                worker.stop();
+            }
+        }
+    }
+
+    /**
+     * 入队, 队列已满时等待
+     *
+     * @param task
+     */
+    public void submit(RowChangeTask task) {
+        final Worker worker = workers[(task.getTableName().hashCode() & Integer.MAX_VALUE) % workers.length];
+        try {
+            worker.queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process(RowChangeTask task) {
+        final List<String> rowIds = task.getRowIds();
+        Map<String, List<Object>> rows = Collections.emptyMap();
+        if (task.getEvent() != TableChangeDescription.TableOperation.DELETE.getCode()) {
+            rows = new HashMap<>(rowIds.size());
+            try {
+                queryRowData(task, rows);
+            } catch (InterruptedException e) {
+                // 已关闭
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // 查询失败时不分发, 避免把所有行当作已删除的行写入
+                logger.error("查询行数据失败, 通知未处理:{}, rows:{}, {}", task.getTableName(), rowIds.size(), e.getMessage());
+                listeners.forEach(l -> l.onError(e));
+                return;
+            }
+        }
+
+        // 查询成功但不存在的行(已被删除)只有ROWID
+        List<List<Object>> data = new ArrayList<>(rowIds.size());
+        for (String rowId : rowIds) {
+            List<Object> row = rows.get(rowId);
+            data.add(null != row ? row : new ArrayList<>(Collections.singletonList(rowId)));
+        }
+
+        final RowChangeEvent event = new RowChangeEvent(task.getTableName(), task.getEvent(), data);
+        listeners.forEach(l -> l.onEvents(event));
+
+        final long latency = System.currentTimeMillis() - task.getNotifyTime();
+        totalLatency.addAndGet(latency);
+        if (latency > maxLatency) {
+            maxLatency = latency;
+        }
+        processedTasks.incrementAndGet();
+        processedRows.addAndGet(rowIds.size());
+    }
+
+    /**
+     * 查询通知中所有行的数据, 失败时重新获取连接重试
+     *
+     * @param task
+     * @param rows ROWID => [ROWID, 列1, 列2...]
+     */
+    private void queryRowData(RowChangeTask task, Map<String, List<Object>> rows) throws SQLException, InterruptedException {
+        final List<String> rowIds = task.getRowIds();
+        for (int attempt = 1; ; attempt++) {
+            try (Connection conn = dataSource.getConnection()) {
+                for (int i = 0; i < rowIds.size(); i += MAX_FETCH_SIZE) {
+                    queryRowData(conn, task.getTableName(), rowIds.subList(i, Math.min(i + MAX_FETCH_SIZE, rowIds.size())), rows);
+                }
+                return;
+            } catch (SQLException e) {
+                if (attempt > MAX_RETRIES || !running) {
+                    throw e;
+                }
+                logger.warn("查询行数据失败, 第{}次重试:{}, {}", attempt, task.getTableName(), e.getMessage());
+                rows.clear();
+            }
+            TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL * attempt);
+        }
+    }
+
+    /**
+     * 按ROWID批量查询行数据, 参数个数补齐到2的幂, 减少不同的SQL文本
+     *
+     * @param conn
+     * @param tableName
+     * @param rowIds
+     * @param rows      ROWID => [ROWID, 列1, 列2...]
+     */
+    private void queryRowData(Connection conn, String tableName, List<String> rowIds, Map<String, List<Object>> rows) throws SQLException {
+        final int size = rowIds.size() <= 1 ? 1 : Math.min(MAX_FETCH_SIZE, Integer.highestOneBit(rowIds.size() - 1) << 1);
+        StringBuilder params = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            params.append(0 == i ? "?" : ",?");
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(String.format(QUERY_ROW_DATA_SQL, tableName, params))) {
+            for (int i = 0; i < size; i++) {
+                ps.setString(i + 1, rowIds.get(Math.min(i, rowIds.size() - 1)));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                final int columnCount = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    List<Object> row = new ArrayList<>(columnCount);
+                    row.add(rs.getString(1));
+                    for (int i = 2; i <= columnCount; i++) {
+                        row.add(rs.getObject(i));
+                    }
+                    rows.put(rs.getString(1), row);
+                }
+            }
+        }
+    }
+
+    /**
+     * 待处理的通知数
+     *
+     * @return
+     */
+    public int getQueueSize() {
+        int size = 0;
+        for (Worker worker : workers) {
+            if (null != worker) {
+                size += worker.queue.size();
+            }
+        }
+        return size;
+    }
+
+    public int getWorkerSize() {
+        return workers.length;
+    }
+
+    public long getProcessedRows() {
+        return processedRows.get();
+    }
+
+    public long getProcessedTasks() {
+        return processedTasks.get();
+    }
+
+    /**
+     * 通知到写入完成的平均耗时(ms)
+     *
+     * @return
+     */
+    public long getAvgLatency() {
+        final long tasks = processedTasks.get();
+        return 0 == tasks ? 0 : totalLatency.get() / tasks;
+    }
+
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    final class Worker implements Runnable {
+
+        private final BlockingQueue<RowChangeTask> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+
+        private volatile Thread thread;
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            while (running) {
+                try {
+                    RowChangeTask task = queue.poll(1, TimeUnit.SECONDS);
+                    if (null != task) {
+                        process(task);
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                } catch (Exception e) {
+                    // 处理异常不影响后续通知
+                    logger.error(e.getMessage(), e);
+                }
+            }
+        }
+
+        void stop() {
+            Thread t = thread;
+            if (null != t) {
+                t.interrupt();
+            }
+            queue.clear();
+        }
+    }
+}
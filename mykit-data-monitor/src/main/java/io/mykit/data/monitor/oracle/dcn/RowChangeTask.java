@@ -0,0 +1,40 @@
+/**
+ * DBSyncer Copyright 2019-2024 All Rights Reserved.
+ */
+package io.mykit.data.monitor.oracle.dcn;
+
+import java.util.List;
+
+/**
+ * 待处理的行变更通知(同一张表同一种操作的一批ROWID)
+ */
+public class RowChangeTask {
+
+    private String tableName;
+    private int event;
+    private List<String> rowIds;
+    private long notifyTime;
+
+    public RowChangeTask(String tableName, int event, List<String> rowIds, long notifyTime) {
+        this.tableName = tableName;
+        this.event = event;
+        this.rowIds = rowIds;
+        this.notifyTime = notifyTime;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int getEvent() {
+        return event;
+    }
+
+    public List<String> getRowIds() {
+        return rowIds;
+    }
+
+    public long getNotifyTime() {
+        return notifyTime;
+    }
+}
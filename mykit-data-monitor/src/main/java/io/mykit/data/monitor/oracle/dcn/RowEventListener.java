@@ -10,4 +10,12 @@ public interface RowEventListener {
 
     void onEvents(RowChangeEvent event);
 
+    /**
+     * 查询行数据失败(重试后仍失败), 本次通知未分发
+     *
+     * @param e
+     */
+    default void onError(Exception e) {
+    }
+
 }
\ No newline at end of file
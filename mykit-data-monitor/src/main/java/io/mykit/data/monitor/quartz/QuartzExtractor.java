@@ -26,10 +26,18 @@ import io.mykit.data.monitor.enums.QuartzFilterEnum;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.util.Assert;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,6 +50,12 @@ public class QuartzExtractor  extends AbstractExtractor implements ScheduledTask
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private static final String WATERMARK_VALUE = "$watermark_value$";
+    private static final String WATERMARK_KEY = "$watermark_key$";
+    private static final String WATERMARK_TIMESTAMP = "T:";
+    private static final String WATERMARK_NUMBER = "N:";
+    private static final String WATERMARK_STRING = "S:";
+
     private ConnectorFactory connectorFactory;
     private ScheduledTaskService scheduledTaskService;
     private List<Map<String, String>> commands;
@@ -49,16 +63,37 @@ public class QuartzExtractor  extends AbstractExtractor implements ScheduledTask
 
     private int readNum;
     private String eventFieldName;
+    private String watermarkField;
+    private String watermarkKey;
     private Set<String> update;
     private Set<String> insert;
     private Set<String> delete;
     private String taskKey;
     private String cron;
     private AtomicBoolean running;
+    private final AtomicInteger pending = new AtomicInteger();
+    private ThreadPoolTaskExecutor executor;
+
+    /**
+     * 自适应轮询: 独立定时器, 有数据时立即或按最小间隔读取, 没有数据时间隔翻倍直到最大间隔
+     */
+    private boolean adaptive;
+    private long minInterval;
+    private long maxInterval;
+    private volatile long interval;
+    private ThreadPoolTaskScheduler timer;
+    private final AtomicLong polledRows = new AtomicLong();
+    private final AtomicBoolean hasMore = new AtomicBoolean();
+    private volatile long lastPolledRows;
 
     @Override
     public void start() {
         init();
+        if (adaptive) {
+            logger.info("启动自适应轮询:{} >> {}~{}ms", taskKey, minInterval, maxInterval);
+            run();
+            return;
+        }
         run();
         scheduledTaskService.start(taskKey, cron, this);
         logger.info("启动定时任务:{} >> {}", taskKey, cron);
@@ -66,30 +101,119 @@ public class QuartzExtractor  extends AbstractExtractor implements ScheduledTask
 
     @Override
     public void run() {
-        try {
-            logger.info("执行定时任务:{} >> {}", taskKey, cron);
-            if (running.compareAndSet(false, true)) {
-                // 依次执行同步映射关系
-                for (int i = 0; i < commandSize; i++) {
-                    execute(commands.get(i), i);
-                }
+        logger.info("执行定时任务:{} >> {}", taskKey, cron);
+        if (!running.compareAndSet(false, true)) {
+            logger.info("上一次定时任务未完成:{}", taskKey);
+            return;
+        }
+        if (0 == commandSize) {
+            running.set(false);
+            return;
+        }
+        polledRows.set(0);
+        hasMore.set(false);
+
+        // 表映射并行读取(并发数受限), 调度线程不等待; 全部完成后才允许下一次执行
+        pending.set(commandSize);
+        for (int i = 0; i < commandSize; i++) {
+            final int index = i;
+            try {
+                executor.execute(() -> {
+                    try {
+                        execute(commands.get(index), index);
+                    } catch (Exception e) {
+                        errorEvent(e);
+                        logger.error(e.getMessage());
+                    } finally {
+                        done();
+                    }
+                });
+            } catch (Exception e) {
+                // 已关闭
+                logger.error(e.getMessage());
+                done();
             }
-            running.compareAndSet(true, false);
-        } catch (Exception e) {
-            running.compareAndSet(true, false);
-            errorEvent(e);
-            logger.error(e.getMessage());
         }
     }
 
     @Override
     public void close() {
-        scheduledTaskService.stop(taskKey);
+        if (null != timer) {
+            timer.shutdown();
+        } else {
+            scheduledTaskService.stop(taskKey);
+        }
+        if (null != executor) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = super.getMetrics();
+        if (adaptive) {
+            metrics.put("轮询间隔(ms)", interval);
+            metrics.put("上次读取行数", lastPolledRows);
+        }
+        return metrics;
+    }
+
+    private void done() {
+        if (0 == pending.decrementAndGet()) {
+            running.set(false);
+            if (adaptive) {
+                scheduleNext();
+            }
+        }
+    }
+
+    /**
+     * 读满一页时立即读取下一页, 有数据时按最小间隔, 没有数据时间隔翻倍(不超过最大间隔)
+     */
+    private void scheduleNext() {
+        lastPolledRows = polledRows.get();
+        long delay;
+        if (hasMore.get()) {
+            interval = minInterval;
+            delay = 0;
+        } else if (0 < lastPolledRows) {
+            interval = minInterval;
+            delay = interval;
+        } else {
+            interval = Math.min(maxInterval, Math.max(minInterval, interval << 1));
+            delay = interval;
+        }
+        try {
+            timer.schedule(this, new Date(System.currentTimeMillis() + delay));
+        } catch (Exception e) {
+            // 已关闭
+            logger.info("停止自适应轮询:{}", taskKey);
+        }
+    }
+
+    /**
+     * 更新增量点(多个表映射并行读取, 同一个增量点集合)
+     *
+     * @param position
+     */
+    private void savePoint(Map<String, String> position) {
+        synchronized (map) {
+            map.putAll(position);
+        }
     }
 
     private void execute(Map<String, String> command, int index) {
+        // 按增量字段续读
+        if (StringUtils.isNotBlank(watermarkField)) {
+            executeWatermark(command, index, adaptive);
+            return;
+        }
+
         // 检查增量点
-        Point point = checkLastPoint(command, index);
+        Point point;
+        synchronized (map) {
+            point = checkLastPoint(command, index);
+        }
         int pageIndex = 1;
         for (; ; ) {
             Result reader = connectorFactory.reader(connectorConfig, point.getCommand(), point.getArgs(), pageIndex++, readNum);
@@ -98,23 +222,8 @@ public class QuartzExtractor  extends AbstractExtractor implements ScheduledTask
                 break;
             }
 
-            Object event = null;
-            for (Map<String, Object> row : data) {
-                event = row.get(eventFieldName);
-                if (update.contains(event)) {
-                    changedQuartzEvent(index, ConnectorConstants.OPERTION_UPDATE, Collections.EMPTY_MAP, row);
-                    continue;
-                }
-                if (insert.contains(event)) {
-                    changedQuartzEvent(index, ConnectorConstants.OPERTION_INSERT, Collections.EMPTY_MAP, row);
-                    continue;
-                }
-                if (delete.contains(event)) {
-                    changedQuartzEvent(index, ConnectorConstants.OPERTION_DELETE, row, Collections.EMPTY_MAP);
-                    continue;
-                }
-
-            }
+            changedQuartzEvent(index, data);
+            polledRows.addAndGet(data.size());
             // 更新记录点
             point.refresh();
 
@@ -122,10 +231,118 @@ public class QuartzExtractor  extends AbstractExtractor implements ScheduledTask
 
         // 持久化
         if (point.refreshed()) {
-            map.putAll(point.getPosition());
-            logger.info("增量点：{}", map);
+            savePoint(point.getPosition());
+            logger.info("增量点：{}", point.getPosition());
+        }
+
+    }
+
+    /**
+     * 按(增量字段, 主键)排序分页, 从上一页最后的(增量字段值, 主键)继续读取, 每页读取后更新增量点
+     *
+     * @param command
+     * @param index
+     * @param singlePage 只读取一页, 读满时由调度立即读取下一页
+     */
+    private void executeWatermark(Map<String, String> command, int index, boolean singlePage) {
+        final String query = command.get(ConnectorConstants.OPERTION_QUERY);
+        Stream.of(QuartzFilterEnum.values()).forEach(f -> Assert.isTrue(!StringUtils.contains(query, f.getType()), String.format("增量字段模式不支持系统参数%s.", f.getType())));
+        final String keyField = StringUtils.isNotBlank(watermarkKey) ? watermarkKey : command.get(ConnectorConstants.OPERTION_QUERY_KEYSET_FIELD);
+        Assert.hasText(keyField, "增量字段模式需要配置增量主键(数据源表没有单一主键).");
+
+        final String valueKey = index + WATERMARK_VALUE;
+        final String keyKey = index + WATERMARK_KEY;
+        Object lastValue;
+        Object lastKey;
+        synchronized (map) {
+            lastValue = decode(map.get(valueKey));
+            lastKey = decode(map.get(keyKey));
+        }
+        for (; ; ) {
+            Result reader = connectorFactory.reader(connectorConfig, command, new ArrayList<>(), watermarkField, keyField, lastValue, lastKey, readNum);
+            List<Map<String, Object>> data = reader.getData();
+            if (CollectionUtils.isEmpty(data)) {
+                break;
+            }
+
+            changedQuartzEvent(index, data);
+
+            // 更新增量点
+            Map<String, Object> last = data.get(data.size() - 1);
+            lastValue = last.get(watermarkField);
+            lastKey = last.get(keyField);
+            Map<String, String> position = new HashMap<>(2);
+            position.put(valueKey, encode(lastValue));
+            position.put(keyKey, encode(lastKey));
+            savePoint(position);
+            polledRows.addAndGet(data.size());
+            if (data.size() < readNum) {
+                break;
+            }
+            if (singlePage) {
+                hasMore.set(true);
+                break;
+            }
+        }
+    }
+
+    private void changedQuartzEvent(int index, List<Map<String, Object>> data) {
+        Object event = null;
+        for (Map<String, Object> row : data) {
+            event = row.get(eventFieldName);
+            if (update.contains(event)) {
+                changedQuartzEvent(index, ConnectorConstants.OPERTION_UPDATE, Collections.EMPTY_MAP, row);
+                continue;
+            }
+            if (insert.contains(event)) {
+                changedQuartzEvent(index, ConnectorConstants.OPERTION_INSERT, Collections.EMPTY_MAP, row);
+                continue;
+            }
+            if (delete.contains(event)) {
+                changedQuartzEvent(index, ConnectorConstants.OPERTION_DELETE, row, Collections.EMPTY_MAP);
+                continue;
+            }
+
+        }
+    }
+
+    /**
+     * 增量点按类型转String: T:毫秒:纳秒, N:数值, S:字符
+     *
+     * @param value
+     * @return
+     */
+    private String encode(Object value) {
+        if (value instanceof Timestamp) {
+            Timestamp ts = (Timestamp) value;
+            return new StringBuilder(WATERMARK_TIMESTAMP).append(ts.getTime()).append(":").append(ts.getNanos()).toString();
         }
+        if (value instanceof Date) {
+            return new StringBuilder(WATERMARK_TIMESTAMP).append(((Date) value).getTime()).append(":").append(-1).toString();
+        }
+        if (value instanceof Number) {
+            return WATERMARK_NUMBER + new BigDecimal(value.toString()).toPlainString();
+        }
+        return WATERMARK_STRING + value;
+    }
 
+    private Object decode(String s) {
+        if (StringUtils.isBlank(s)) {
+            return null;
+        }
+        if (s.startsWith(WATERMARK_TIMESTAMP)) {
+            String[] arr = StringUtils.split(s.substring(WATERMARK_TIMESTAMP.length()), ":");
+            Timestamp ts = new Timestamp(Long.parseLong(arr[0]));
+            int nanos = Integer.parseInt(arr[1]);
+            if (nanos >= 0) {
+                ts.setNanos(nanos);
+            }
+            return ts;
+        }
+        if (s.startsWith(WATERMARK_NUMBER)) {
+            return new BigDecimal(s.substring(WATERMARK_NUMBER.length()));
+        }
+        return s.substring(WATERMARK_STRING.length());
     }
 
     private Point checkLastPoint(Map<String, String> command, int index) {
@@ -155,15 +372,19 @@ public class QuartzExtractor  extends AbstractExtractor implements ScheduledTask
 
             // 开始位置
             if (f.begin()) {
-                if (!map.containsKey(key)) {
-                    final Object val = f.getObject();
-                    point.addArg(val);
-                    map.put(key, f.toString(val));
-                    continue;
+                final String last;
+                synchronized (map) {
+                    last = map.get(key);
+                    if (null == last) {
+                        final Object val = f.getObject();
+                        point.addArg(val);
+                        map.put(key, f.toString(val));
+                        continue;
+                    }
                 }
 
                 // 读取历史增量点
-                Object val = f.getObject(map.get(key));
+                Object val = f.getObject(last);
                 point.addArg(val);
                 point.setBeginKey(key);
                 point.setBeginValue(f.toString(f.getObject()));
@@ -184,6 +405,8 @@ public class QuartzExtractor  extends AbstractExtractor implements ScheduledTask
 
         readNum = listenerConfig.getReadNum();
         eventFieldName = listenerConfig.getEventFieldName();
+        watermarkField = StringUtils.trim(listenerConfig.getWatermarkField());
+        watermarkKey = StringUtils.trim(listenerConfig.getWatermarkKey());
         update = Stream.of(listenerConfig.getUpdate().split(",")).collect(Collectors.toSet());
         insert = Stream.of(listenerConfig.getInsert().split(",")).collect(Collectors.toSet());
         delete = Stream.of(listenerConfig.getDelete().split(",")).collect(Collectors.toSet());
@@ -191,6 +414,28 @@ public class QuartzExtractor  extends AbstractExtractor implements ScheduledTask
         taskKey = UUIDUtils.getUUID();
         cron = listenerConfig.getCronExpression();
         running = new AtomicBoolean();
+
+        final int threadSize = Math.max(1, Math.min(listenerConfig.getPollThreadNum(), commandSize));
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadSize);
+        executor.setMaxPoolSize(threadSize);
+        executor.setQueueCapacity(Math.max(1, commandSize));
+        executor.setKeepAliveSeconds(30);
+        executor.setThreadNamePrefix("QuartzExtractor-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        adaptive = listenerConfig.isAdaptivePolling();
+        if (adaptive) {
+            minInterval = TimeUnit.SECONDS.toMillis(Math.max(1, listenerConfig.getMinPollInterval()));
+            maxInterval = Math.max(minInterval, TimeUnit.SECONDS.toMillis(listenerConfig.getMaxPollInterval()));
+            interval = minInterval;
+            timer = new ThreadPoolTaskScheduler();
+            timer.setPoolSize(1);
+            timer.setThreadNamePrefix("QuartzExtractor-timer-");
+            timer.setDaemon(true);
+            timer.initialize();
+        }
     }
 
     private boolean appearNotMoreThanOnce(String str, String searchStr) {
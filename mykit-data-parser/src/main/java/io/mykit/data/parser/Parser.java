@@ -27,6 +27,13 @@ public interface Parser {
      */
     boolean alive(ConnectorConfig config);
 
+    /**
+     * 断开连接器连接（释放连接池）
+     *
+     * @param config
+     */
+    void disconnect(ConnectorConfig config);
+
     /**
      * 获取连接器表
      *
@@ -62,6 +69,16 @@ public interface Parser {
      */
     long getCount(String connectorId, Map<String, String> command);
 
+    /**
+     * 获取总数
+     *
+     * @param connectorId
+     * @param command
+     * @param estimate    是否估算
+     * @return
+     */
+    long getCount(String connectorId, Map<String, String> command, boolean estimate);
+
     /**
      * 解析连接器配置为Connector
      *
@@ -132,4 +149,21 @@ public interface Parser {
      * @param dataEvent
      */
     void execute(Mapping mapping, TableGroup tableGroup, DataEvent dataEvent);
+
+    /**
+     * 增量同步(批量)
+     *
+     * @param mapping
+     * @param tableGroup
+     * @param dataEvents 同一事件类型的变更数据
+     */
+    void execute(Mapping mapping, TableGroup tableGroup, List<DataEvent> dataEvents);
+
+    /**
+     * 在目标源的同一个事务中执行增量同步
+     *
+     * @param mapping
+     * @param runnable
+     */
+    void transaction(Mapping mapping, Runnable runnable);
 }
\ No newline at end of file
@@ -8,7 +8,22 @@ public enum ParserEnum {
     /**
      * 页数
      */
-    PAGE_INDEX("pageIndex", "1");
+    PAGE_INDEX("pageIndex", "1"),
+
+    /**
+     * 主键分页最后读取的主键值
+     */
+    LAST_KEY("lastKey", ""),
+
+    /**
+     * 主键范围分片边界(逗号分隔, N个分片对应N+1个边界)
+     */
+    RANGE_BOUND("rangeBound", ""),
+
+    /**
+     * 主键范围分片最后读取的主键值(按分片序号追加后缀, 等于分片上界时表示已完成)
+     */
+    RANGE_KEY("rangeKey_", "");
 
     /**
      * 编码
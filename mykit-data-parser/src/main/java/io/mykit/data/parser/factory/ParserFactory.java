@@ -22,6 +22,7 @@ import io.mykit.data.parser.model.*;
 import io.mykit.data.parser.utils.ConvertUtils;
 import io.mykit.data.parser.utils.PickerUtils;
 import io.mykit.data.plugins.factory.PluginFactory;
+import org.apache.commons.lang.StringUtils;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -33,11 +34,15 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class ParserFactory implements Parser {
@@ -64,6 +69,11 @@ public class ParserFactory implements Parser {
         return connectorFactory.isAlive(config);
     }
 
+    @Override
+    public void disconnect(ConnectorConfig config) {
+        connectorFactory.disconnect(config);
+    }
+
     @Override
     public List<String> getTable(ConnectorConfig config) {
         return connectorFactory.getTable(config);
@@ -110,6 +120,12 @@ public class ParserFactory implements Parser {
         return connectorFactory.getCount(config, command);
     }
 
+    @Override
+    public long getCount(String connectorId, Map<String, String> command, boolean estimate) {
+        ConnectorConfig config = getConnectorConfig(connectorId);
+        return connectorFactory.getCount(config, command, estimate);
+    }
+
     @Override
     public Connector parseConnector(String json) {
         try {
@@ -178,8 +194,9 @@ public class ParserFactory implements Parser {
         ConnectorConfig tConfig = getConnectorConfig(targetConnectorId);
         Assert.notNull(tConfig, "目标源配置不能为空.");
         TableGroup group = PickerUtils.mergeTableGroupConfig(mapping, tableGroup);
-        Map<String, String> command = group.getCommand();
-        Assert.notEmpty(command, "执行命令不能为空.");
+        Assert.notEmpty(group.getCommand(), "执行命令不能为空.");
+        // 每次全量同步使用独立的命令副本, 连接器可在副本中记录本次任务的写入方式(如直接路径插入)
+        Map<String, String> command = new ConcurrentHashMap<>(group.getCommand());
         List<FieldMapping> fieldMapping = group.getFieldMapping();
         String sTableName = group.getSourceTable().getName();
         String tTableName = group.getTargetTable().getName();
@@ -188,12 +205,63 @@ public class ParserFactory implements Parser {
         Picker picker = new Picker();
         PickerUtils.pickFields(picker, fieldMapping);
 
-        // 检查分页参数
+        // 检查分页参数(存在唯一主键时按主键分页, 否则按页数分页)
         Map<String, String> params = getMeta(metaId).getMap();
-        params.putIfAbsent(ParserEnum.PAGE_INDEX.getCode(), ParserEnum.PAGE_INDEX.getDefaultValue());
+        final String keyField = command.get(ConnectorConstants.OPERTION_QUERY_KEYSET_FIELD);
+        final boolean keyset = StringUtils.isNotBlank(keyField);
+        if (keyset) {
+            params.putIfAbsent(ParserEnum.LAST_KEY.getCode(), ParserEnum.LAST_KEY.getDefaultValue());
+        } else {
+            params.putIfAbsent(ParserEnum.PAGE_INDEX.getCode(), ParserEnum.PAGE_INDEX.getDefaultValue());
+        }
         int pageSize = mapping.getReadNum();
         int threadSize = mapping.getThreadNum();
         int batchSize = mapping.getBatchNum();
+        command.put(ConnectorConstants.OPERTION_SINGLE_WRITER, String.valueOf(threadSize <= 1));
+
+        // 按主键范围分片并发读取
+        if (keyset && mapping.getChunkNum() > 1) {
+            List<Long> bound = getRangeBound(sConfig, command, params, mapping.getChunkNum());
+            if (!CollectionUtils.isEmpty(bound)) {
+                // 多个分片同时写入目标表
+                command.put(ConnectorConstants.OPERTION_SINGLE_WRITER, Boolean.FALSE.toString());
+                executeRange(task, group, picker, sConfig, tConfig, command, params, bound, keyField, pageSize, threadSize, batchSize);
+                if (!task.isRunning()) {
+                    logger.warn("任务被中止:{}", metaId);
+                    return;
+                }
+                params.clear();
+                logger.info("完成全量同步任务:{}, [{}] >> [{}]", metaId, sTableName, tTableName);
+                return;
+            }
+        }
+
+        // 流式读取(单个游标按块读取, 不再逐页查询)
+        if (command.containsKey(ConnectorConstants.OPERTION_QUERY_STREAM)) {
+            // 不存在唯一主键时, 跳过已同步的数据块
+            final int skip = keyset ? 0 : Integer.parseInt(params.get(ParserEnum.PAGE_INDEX.getCode())) - 1;
+            final AtomicInteger chunkIndex = new AtomicInteger();
+            Object lastKey = keyset ? params.get(ParserEnum.LAST_KEY.getCode()) : null;
+            connectorFactory.reader(sConfig, command, lastKey, pageSize, (data) -> {
+                if (!task.isRunning()) {
+                    return false;
+                }
+                if (chunkIndex.getAndIncrement() < skip) {
+                    return true;
+                }
+                Object key = keyset ? data.get(data.size() - 1).get(keyField) : null;
+                write(task, group, picker, tConfig, command, data, threadSize, batchSize);
+                updatePage(params, keyset, key);
+                return true;
+            });
+            if (!task.isRunning()) {
+                logger.warn("任务被中止:{}", metaId);
+                return;
+            }
+            params.clear();
+            logger.info("完成全量同步任务:{}, [{}] >> [{}]", metaId, sTableName, tTableName);
+            return;
+        }
 
         for (; ; ) {
             if (!task.isRunning()) {
@@ -202,32 +270,218 @@ public class ParserFactory implements Parser {
             }
 
             // 1、获取数据源数据
-            int pageIndex = Integer.parseInt(params.get(ParserEnum.PAGE_INDEX.getCode()));
-            Result reader = connectorFactory.reader(sConfig, command, new ArrayList<>(), pageIndex, pageSize);
+            Result reader = keyset ? connectorFactory.reader(sConfig, command, params.get(ParserEnum.LAST_KEY.getCode()), pageSize)
+                    : connectorFactory.reader(sConfig, command, new ArrayList<>(), Integer.parseInt(params.get(ParserEnum.PAGE_INDEX.getCode())), pageSize);
             List<Map<String, Object>> data = reader.getData();
             if (CollectionUtils.isEmpty(data)) {
                 params.clear();
                 logger.info("完成全量同步任务:{}, [{}] >> [{}]", metaId, sTableName, tTableName);
                 break;
             }
+            Object lastKey = keyset ? data.get(data.size() - 1).get(keyField) : null;
 
-            // 2、映射字段
-            PickerUtils.pickData(picker, data);
+            // 2、映射字段、转换并写入目标源
+            write(task, group, picker, tConfig, command, data, threadSize, batchSize);
 
-            // 3、参数转换
-            List<Map<String, Object>> target = picker.getTargetList();
-            ConvertUtils.convert(group.getConvert(), target);
+            // 3、更新分页数
+            updatePage(params, keyset, lastKey);
+        }
+    }
 
-            // 4、插件转换
-            pluginFactory.convert(group.getPlugin(), data, target);
+    /**
+     * 获取主键范围分片边界(优先使用已记录的边界, 便于中断后继续)
+     *
+     * @param sConfig
+     * @param command
+     * @param params
+     * @param chunkNum
+     * @return 分片边界, 主键不是整数时返回null
+     */
+    private List<Long> getRangeBound(ConnectorConfig sConfig, Map<String, String> command, Map<String, String> params, int chunkNum) {
+        List<Long> bound = new ArrayList<>();
+        String rangeBound = params.get(ParserEnum.RANGE_BOUND.getCode());
+        if (StringUtils.isNotBlank(rangeBound)) {
+            for (String b : StringUtils.split(rangeBound, ",")) {
+                bound.add(Long.parseLong(b));
+            }
+            return bound;
+        }
+        if (!command.containsKey(ConnectorConstants.OPERTION_QUERY_STREAM_RANGE)) {
+            return null;
+        }
 
-            // 5、写入目标源
-            Result writer = writeBatch(tConfig, command, picker.getTargetFields(), target, threadSize, batchSize);
+        Object[] keyRange = connectorFactory.getKeyRange(sConfig, command);
+        if (null == keyRange) {
+            return null;
+        }
+        Long min = toLong(keyRange[0]);
+        Long max = toLong(keyRange[1]);
+        if (null == min || null == max) {
+            return null;
+        }
+
+        // (min - 1, max]按步长均分, 每个分片为(bound[i], bound[i + 1]]
+        long size = max - min + 1;
+        long step = size / chunkNum + (size % chunkNum == 0 ? 0 : 1);
+        long b = min - 1;
+        bound.add(b);
+        while (b < max) {
+            b = Math.min(b + step, max);
+            bound.add(b);
+        }
+
+        // 先写入全部分片的记录点, 并发读取时只更新已有的值
+        params.put(ParserEnum.RANGE_BOUND.getCode(), StringUtils.join(bound, ","));
+        for (int i = 0; i < bound.size() - 1; i++) {
+            params.put(ParserEnum.RANGE_KEY.getCode() + i, ParserEnum.RANGE_KEY.getDefaultValue());
+        }
+        return bound;
+    }
+
+    /**
+     * 并发读取主键范围分片, 每个分片使用独立连接和记录点
+     * <p>同时读取的分片数 × 写入线程数不超过目标源连接池大小
+     *
+     * @param task
+     * @param group
+     * @param picker
+     * @param sConfig
+     * @param tConfig
+     * @param command
+     * @param params
+     * @param bound
+     * @param keyField
+     * @param pageSize
+     * @param threadSize
+     * @param batchSize
+     */
+    private void executeRange(Task task, TableGroup group, Picker picker, ConnectorConfig sConfig, ConnectorConfig tConfig,
+                              Map<String, String> command, Map<String, String> params, List<Long> bound, String keyField,
+                              int pageSize, int threadSize, int batchSize) {
+        final int chunkSize = bound.size() - 1;
+        // 每个分片写入时最多占用threadSize个目标源连接, 同时读取的分片数不超过目标源连接池大小, 其余分片排队
+        int parallel = chunkSize;
+        if (tConfig instanceof DatabaseConfig) {
+            parallel = Math.min(chunkSize, Math.max(1, ((DatabaseConfig) tConfig).getMaxActive() / Math.max(1, threadSize)));
+        }
+        final ThreadPoolTaskExecutor executor = getThreadPoolTaskExecutor(parallel, chunkSize - parallel);
+        final CountDownLatch latch = new CountDownLatch(chunkSize);
+        final StringBuffer error = new StringBuffer();
+        for (int i = 0; i < chunkSize; i++) {
+            final String rangeKey = ParserEnum.RANGE_KEY.getCode() + i;
+            final String startKey = String.valueOf(bound.get(i));
+            final String endKey = String.valueOf(bound.get(i + 1));
+            executor.execute(() -> {
+                try {
+                    String lastKey;
+                    synchronized (task) {
+                        lastKey = params.get(rangeKey);
+                    }
+                    // 已完成的分片
+                    if (StringUtils.equals(endKey, lastKey)) {
+                        return;
+                    }
+                    // 字段映射器非线程安全, 每个分片独立创建
+                    Picker p = new Picker();
+                    p.setSourceFields(picker.getSourceFields());
+                    p.setTargetFields(picker.getTargetFields());
+                    connectorFactory.reader(sConfig, command, StringUtils.isBlank(lastKey) ? startKey : lastKey, endKey, pageSize, (data) -> {
+                        if (!task.isRunning()) {
+                            return false;
+                        }
+                        Object key = data.get(data.size() - 1).get(keyField);
+                        write(task, group, p, tConfig, command, data, threadSize, batchSize);
+                        // 记录点与刷新Meta使用同一把锁
+                        synchronized (task) {
+                            params.put(rangeKey, String.valueOf(key));
+                        }
+                        return true;
+                    });
+                    if (task.isRunning()) {
+                        synchronized (task) {
+                            params.put(rangeKey, endKey);
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.error("分片读取异常:{}, ({}, {}], {}", task.getId(), startKey, endKey, e.getMessage());
+                    error.append(e.getMessage()).append("\r\n");
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage());
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
 
-            // 6、更新结果
-            flush(task, writer, target);
+        // 保留记录点, 重新启动后只读取未完成的分片
+        if (error.length() > 0) {
+            throw new ParserException(error.toString());
+        }
+    }
 
-            // 7、更新分页数
+    private Long toLong(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).longValue();
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal d = (BigDecimal) value;
+            return d.signum() == 0 || d.stripTrailingZeros().scale() <= 0 ? d.longValue() : null;
+        }
+        return null;
+    }
+
+    /**
+     * 映射字段、转换并写入目标源
+     *
+     * @param task
+     * @param group
+     * @param picker
+     * @param tConfig
+     * @param command
+     * @param data
+     * @param threadSize
+     * @param batchSize
+     */
+    private void write(Task task, TableGroup group, Picker picker, ConnectorConfig tConfig, Map<String, String> command,
+                       List<Map<String, Object>> data, int threadSize, int batchSize) {
+        // 1、映射字段
+        PickerUtils.pickData(picker, data);
+
+        // 2、参数转换
+        List<Map<String, Object>> target = picker.getTargetList();
+        ConvertUtils.convert(group.getConvert(), target);
+
+        // 3、插件转换
+        pluginFactory.convert(group.getPlugin(), data, target);
+
+        // 4、写入目标源
+        Result writer = writeBatch(tConfig, command, picker.getTargetFields(), target, threadSize, batchSize);
+
+        // 5、更新结果
+        flush(task, writer, target);
+    }
+
+    /**
+     * 更新分页数(按主键分页时记录最后的主键值)
+     *
+     * @param params
+     * @param keyset
+     * @param lastKey
+     */
+    private void updatePage(Map<String, String> params, boolean keyset, Object lastKey) {
+        if (keyset) {
+            params.put(ParserEnum.LAST_KEY.getCode(), String.valueOf(lastKey));
+        } else {
+            int pageIndex = Integer.parseInt(params.get(ParserEnum.PAGE_INDEX.getCode()));
             params.put(ParserEnum.PAGE_INDEX.getCode(), String.valueOf(++pageIndex));
         }
     }
@@ -263,6 +517,51 @@ public class ParserFactory implements Parser {
         flush(metaId, writer, event, list);
     }
 
+    @Override
+    public void execute(Mapping mapping, TableGroup tableGroup, List<DataEvent> dataEvents) {
+        if (CollectionUtils.isEmpty(dataEvents)) {
+            return;
+        }
+        if (1 == dataEvents.size()) {
+            execute(mapping, tableGroup, dataEvents.get(0));
+            return;
+        }
+        final String metaId = mapping.getMetaId();
+
+        ConnectorConfig tConfig = getConnectorConfig(mapping.getTargetConnectorId());
+        // 获取同步字段
+        Picker picker = new Picker();
+        PickerUtils.pickFields(picker, tableGroup.getFieldMapping());
+
+        // 1、映射字段
+        String event = dataEvents.get(0).getEvent();
+        List<Map<String, Object>> data = new ArrayList<>(dataEvents.size());
+        dataEvents.forEach(e -> data.add(e.getData()));
+        PickerUtils.pickData(picker, data);
+
+        // 2、参数转换
+        List<Map<String, Object>> target = picker.getTargetList();
+        ConvertUtils.convert(tableGroup.getConvert(), target);
+
+        // 3、插件转换
+        final int size = data.size();
+        for (int i = 0; i < size; i++) {
+            pluginFactory.convert(tableGroup.getPlugin(), event, data.get(i), target.get(i));
+        }
+
+        // 4、批量写入目标源
+        Result writer = connectorFactory.writer(tConfig, picker.getTargetFields(), tableGroup.getCommand(), event, target);
+
+        // 5、更新结果
+        flush(metaId, writer, event, target);
+    }
+
+    @Override
+    public void transaction(Mapping mapping, Runnable runnable) {
+        ConnectorConfig tConfig = getConnectorConfig(mapping.getTargetConnectorId());
+        connectorFactory.transaction(tConfig, runnable);
+    }
+
     /**
      * 更新缓存
      *
@@ -273,9 +572,11 @@ public class ParserFactory implements Parser {
     private void flush(Task task, Result writer, List<Map<String, Object>> data) {
         flush(task.getId(), writer, ConnectorConstants.OPERTION_INSERT, data);
 
-        // 发布刷新事件给FullExtractor
-        task.setEndTime(Instant.now().toEpochMilli());
-        applicationContext.publishEvent(new FullRefreshEvent(applicationContext, task));
+        // 发布刷新事件给FullExtractor(分片并发读取时串行刷新)
+        synchronized (task) {
+            task.setEndTime(Instant.now().toEpochMilli());
+            applicationContext.publishEvent(new FullRefreshEvent(applicationContext, task));
+        }
     }
 
     private void flush(String metaId, Result writer, String event, List<Map<String, Object>> data) {
@@ -44,6 +44,12 @@ public class Mapping extends AbstractConfigModel {
     // 线程数
     private int threadNum = 5;
 
+    // 读取分片数(存在单一数字主键时按主键范围并发读取, 1表示不分片)
+    private int chunkNum = 1;
+
+    // 精确统计总数(默认使用统计信息估算, 开启后在后台执行count统计)
+    private boolean exactCount;
+
     public String getSourceConnectorId() {
         return sourceConnectorId;
     }
@@ -130,4 +136,22 @@ public class Mapping extends AbstractConfigModel {
         return this;
     }
 
+    public int getChunkNum() {
+        return chunkNum;
+    }
+
+    public Mapping setChunkNum(int chunkNum) {
+        this.chunkNum = chunkNum;
+        return this;
+    }
+
+    public boolean isExactCount() {
+        return exactCount;
+    }
+
+    public Mapping setExactCount(boolean exactCount) {
+        this.exactCount = exactCount;
+        return this;
+    }
+
 }
\ No newline at end of file